@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import net.minecraft.block.Block;
 import net.minecraft.entity.Entity;
@@ -84,6 +85,9 @@ public abstract class MFRRegistry {
 
 	private static Map<String, Boolean> _unifierBlacklist = new TreeMap<String, Boolean>();
 
+	// conveyors look entities up on the client as well
+	private static Map<Class<?>, EntityClassInfo> _entityClassInfo = new ConcurrentHashMap<Class<?>, EntityClassInfo>();
+
 	private static List<WeightedRandom.Item> _laserOres = new ArrayList<WeightedRandom.Item>();
 	private static Map<Integer, List<ItemStack>> _laserPreferredOres = new HashMap<Integer, List<ItemStack>>(16);
 
@@ -140,6 +144,7 @@ public abstract class MFRRegistry {
 	public static void registerGrindable(IFactoryGrindable grindable) {
 
 		_grindables.put(grindable.getGrindableEntity(), grindable);
+		_entityClassInfo.clear();
 	}
 
 	public static Map<Class<? extends EntityLivingBase>, IFactoryGrindable> getGrindables() {
@@ -152,6 +157,7 @@ public abstract class MFRRegistry {
 		_grindableBlacklist.add(ungrindable);
 		if (MFRRegistry._safariNetBlacklist.contains(ungrindable))
 			_slaughterhouseBlacklist.add(ungrindable);
+		_entityClassInfo.clear();
 	}
 
 	public static List<Class<?>> getGrinderBlacklist() {
@@ -209,6 +215,7 @@ public abstract class MFRRegistry {
 		_safariNetBlacklist.add(entityClass);
 		if (MFRRegistry._grindableBlacklist.contains(entityClass))
 			_slaughterhouseBlacklist.add(entityClass);
+		_entityClassInfo.clear();
 	}
 
 	public static List<Class<?>> getSafariNetBlacklist() {
@@ -285,6 +292,7 @@ public abstract class MFRRegistry {
 	public static void registerAutoSpawnerBlacklistClass(Class<? extends EntityLivingBase> entityClass) {
 
 		_autoSpawnerClassBlacklist.add(entityClass);
+		_entityClassInfo.clear();
 	}
 
 	public static List<Class<?>> getAutoSpawnerClassBlacklist() {
@@ -335,6 +343,7 @@ public abstract class MFRRegistry {
 	public static void registerConveyerBlacklist(Class<? extends Entity> entityClass) {
 
 		_conveyerBlacklist.add(entityClass);
+		_entityClassInfo.clear();
 	}
 
 	public static List<Class<? extends Entity>> getConveyerBlacklist() {
@@ -342,6 +351,55 @@ public abstract class MFRRegistry {
 		return _conveyerBlacklist;
 	}
 
+	/**
+	 * @return Everything the registry says about entities of exactly {@code entityClass}, resolved once per class
+	 *         until a grindable or blacklist is registered.
+	 */
+	public static EntityClassInfo getEntityClassInfo(Class<?> entityClass) {
+
+		EntityClassInfo info = _entityClassInfo.get(entityClass);
+		if (info == null)
+			_entityClassInfo.put(entityClass, info = new EntityClassInfo(entityClass));
+		return info;
+	}
+
+	public static final class EntityClassInfo {
+
+		/**
+		 * The grindable registered for the class or its nearest superclass that has one, or null.
+		 */
+		public final IFactoryGrindable grindable;
+		public final boolean grinderBlacklisted;
+		public final boolean slaughterhouseBlacklisted;
+		/**
+		 * Safari nets only blacklist exact classes.
+		 */
+		public final boolean safariNetBlacklisted;
+		public final boolean conveyorBlacklisted;
+		public final boolean autoSpawnerBlacklisted;
+
+		private EntityClassInfo(Class<?> entityClass) {
+
+			IFactoryGrindable g = null;
+			for (Class<?> c = entityClass; g == null && c != null; c = c.getSuperclass())
+				g = _grindables.get(c);
+			grindable = g;
+			grinderBlacklisted = isBlacklisted(_grindableBlacklist, entityClass);
+			slaughterhouseBlacklisted = isBlacklisted(_slaughterhouseBlacklist, entityClass);
+			safariNetBlacklisted = _safariNetBlacklist.contains(entityClass);
+			conveyorBlacklisted = isBlacklisted(_conveyerBlacklist, entityClass);
+			autoSpawnerBlacklisted = isBlacklisted(_autoSpawnerClassBlacklist, entityClass);
+		}
+
+		private static boolean isBlacklisted(List<? extends Class<?>> blacklist, Class<?> entityClass) {
+
+			for (int i = 0, e = blacklist.size(); i < e; ++i)
+				if (blacklist.get(i).isAssignableFrom(entityClass))
+					return true;
+			return false;
+		}
+	}
+
 	public static void addLaserPreferredOre(int color, ItemStack ore) {
 
 		if (color < 0 || 16 <= color) return;
@@ -24,6 +24,8 @@ import cpw.mods.fml.common.event.FMLMissingMappingsEvent.MissingMapping;
 import cpw.mods.fml.common.event.FMLModIdMappingEvent;
 import cpw.mods.fml.common.event.FMLPostInitializationEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import cpw.mods.fml.common.event.FMLServerStoppingEvent;
 import cpw.mods.fml.common.network.NetworkRegistry;
 import cpw.mods.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 import cpw.mods.fml.common.registry.EntityRegistry;
@@ -103,6 +105,7 @@ import powercrystals.minefactoryreloaded.block.transport.BlockRailCargoPickup;
 import powercrystals.minefactoryreloaded.block.transport.BlockRailPassengerDropoff;
 import powercrystals.minefactoryreloaded.block.transport.BlockRailPassengerPickup;
 import powercrystals.minefactoryreloaded.block.transport.BlockRedNetCable;
+import powercrystals.minefactoryreloaded.core.TickProfiler;
 import powercrystals.minefactoryreloaded.entity.DebugTracker;
 import powercrystals.minefactoryreloaded.entity.EntityFishingRod;
 import powercrystals.minefactoryreloaded.entity.EntityFlyingItem;
@@ -150,8 +153,12 @@ import powercrystals.minefactoryreloaded.item.tool.ItemRuler;
 import powercrystals.minefactoryreloaded.item.tool.ItemSpyglass;
 import powercrystals.minefactoryreloaded.item.tool.ItemStraw;
 import powercrystals.minefactoryreloaded.item.tool.ItemXpExtractor;
+import powercrystals.minefactoryreloaded.net.CommandMFR;
 import powercrystals.minefactoryreloaded.net.CommonProxy;
+import powercrystals.minefactoryreloaded.net.ConveyorLaneTicker;
 import powercrystals.minefactoryreloaded.net.EntityHandler;
+import powercrystals.minefactoryreloaded.net.MachineScheduler;
+import powercrystals.minefactoryreloaded.net.RedNetUpdateQueue;
 import powercrystals.minefactoryreloaded.net.ServerPacketHandler;
 import powercrystals.minefactoryreloaded.net.ServerPacketHandler.MFRMessage;
 import powercrystals.minefactoryreloaded.setup.BehaviorDispenseSafariNet;
@@ -835,6 +842,22 @@ public class MineFactoryReloadedCore extends BaseMod {
 		_log.info("Load Complete.");
 	}
 
+	@EventHandler
+	public void serverStarting(FMLServerStartingEvent evt) {
+
+		evt.registerServerCommand(new CommandMFR());
+	}
+
+	@EventHandler
+	public void serverStopping(FMLServerStoppingEvent evt) {
+
+		TickProfiler.stop();
+		TickProfiler.reset();
+		MachineScheduler.instance.clear();
+		ConveyorLaneTicker.instance.clear();
+		RedNetUpdateQueue.instance.clear();
+	}
+
 	@EventHandler
 	public void remap(FMLModIdMappingEvent evt) {
 
@@ -0,0 +1,15 @@
+package powercrystals.minefactoryreloaded.api.rednet;
+
+/**
+ * Optionally implemented by circuits that can read their inputs from and write their outputs to the logic
+ * controller's registers directly, without the arrays {@link IRedNetLogicCircuit#recalculateOutputValues} takes and
+ * returns.
+ */
+public interface IRedNetLogicCircuitInPlace extends IRedNetLogicCircuit
+{
+	/**
+	 * Input pin {@code i} is {@code registers[pins[inputs + i]]}, and output pin {@code i} is written to
+	 * {@code registers[pins[outputs + i]]}. Every output pin must be written; no other part of either array may be.
+	 */
+	public void recalculateOutputValues(long worldTime, int[] registers, int[] pins, int inputs, int outputs);
+}
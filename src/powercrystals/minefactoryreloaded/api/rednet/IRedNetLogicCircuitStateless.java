@@ -0,0 +1,11 @@
+package powercrystals.minefactoryreloaded.api.rednet;
+
+/**
+ * Implemented by circuits whose outputs depend on nothing but their current inputs: not on the world time, on
+ * randomness, or on anything they remember between updates.
+ * <p>
+ * A logic controller made up only of these circuits is not re-evaluated while its inputs and variables stay the same.
+ */
+public interface IRedNetLogicCircuitStateless extends IRedNetLogicCircuit
+{
+}
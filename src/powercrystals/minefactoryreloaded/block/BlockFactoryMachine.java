@@ -31,6 +31,7 @@ import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityBase;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactory;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryInventory;
+import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 import powercrystals.minefactoryreloaded.tile.machine.TileEntityLaserDrill;
 
 public class BlockFactoryMachine extends BlockFactory implements IRedNetOmniNode, ITileEntityProvider {
@@ -89,6 +90,20 @@ public class BlockFactoryMachine extends BlockFactory implements IRedNetOmniNode
 		return super.getLightOpacity(world, x, y, z);
 	}
 
+	@Override
+	public void onNeighborBlockChange(World world, int x, int y, int z, Block block) {
+
+		super.onNeighborBlockChange(world, x, y, z, block);
+		if (world.isRemote)
+			return;
+
+		// redstone may have changed
+		TileEntity te = world.getTileEntity(x, y, z);
+		if (te instanceof TileEntityFactoryPowered) {
+			((TileEntityFactoryPowered) te).wake();
+		}
+	}
+
 	@Override
 	public void onNeighborChange(IBlockAccess world, int x, int y, int z, int tileX, int tileY, int tileZ) {
 
@@ -324,7 +339,7 @@ public class BlockFactoryMachine extends BlockFactory implements IRedNetOmniNode
 
 		TileEntity te = getTile(world, x, y, z);
 		if (te instanceof TileEntityFactory) {
-			return ((TileEntityFactory) te).getRedNetOutput(side);
+			return ((TileEntityFactory) te).getRedNetCableOutput(side);
 		}
 		return 0;
 	}
@@ -278,10 +278,8 @@ public class BlockConveyor extends BlockFactory implements IRedNetInputNode, ITi
 	public void onEntityCollidedWithBlock(World world, int x, int y, int z, Entity ent) {
 
 		boolean isItem = ent instanceof EntityItem || ent instanceof EntityXPOrb;
-		if (!isItem)
-			for (Class<?> blacklist : MFRRegistry.getConveyerBlacklist())
-				if (blacklist.isInstance(ent))
-					return;
+		if (!isItem && MFRRegistry.getEntityClassInfo(ent.getClass()).conveyorBlacklisted)
+			return;
 
 		if (!(isItem || ent instanceof EntityLivingBase || ent instanceof EntityTNTPrimed))
 			return;
@@ -291,9 +289,11 @@ public class BlockConveyor extends BlockFactory implements IRedNetInputNode, ITi
 			return;
 
 		if (!world.isRemote) {
-			if (ent instanceof EntityItem)
+			if (ent instanceof EntityItem) {
 				specialRoute(world, x, y, z, (EntityItem) ent);
-			else if (ent instanceof EntityPlayer)
+				if (((TileEntityConveyor) conveyor).captureItem((EntityItem) ent))
+					return;
+			} else if (ent instanceof EntityPlayer)
 				return;
 		}
 
@@ -1,8 +1,10 @@
 package powercrystals.minefactoryreloaded.circuits;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitInPlace;
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Fanout extends StatelessCircuit
+public class Fanout extends StatelessCircuit implements IRedNetLogicCircuitInPlace, IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
@@ -23,6 +25,14 @@ public class Fanout extends StatelessCircuit
 				inputValues[0], inputValues[0], inputValues[0], inputValues[0], inputValues[0], inputValues[0], inputValues[0], inputValues[0]};
 	}
 	
+	@Override
+	public void recalculateOutputValues(long worldTime, int[] registers, int[] pins, int inputs, int outputs)
+	{
+		int value = registers[pins[inputs]];
+		for (int i = 0; i < 16; ++i)
+			registers[pins[outputs + i]] = value;
+	}
+	
 	@Override
 	public String getUnlocalizedName()
 	{
@@ -1,8 +1,10 @@
 package powercrystals.minefactoryreloaded.circuits;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitInPlace;
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Passthrough extends StatelessCircuit
+public class Passthrough extends StatelessCircuit implements IRedNetLogicCircuitInPlace, IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
@@ -22,6 +24,12 @@ public class Passthrough extends StatelessCircuit
 		return new int[] { inputValues[0] };
 	}
 	
+	@Override
+	public void recalculateOutputValues(long worldTime, int[] registers, int[] pins, int inputs, int outputs)
+	{
+		registers[pins[outputs]] = registers[pins[inputs]];
+	}
+	
 	@Override
 	public String getUnlocalizedName()
 	{
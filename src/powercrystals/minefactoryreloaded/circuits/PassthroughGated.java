@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class PassthroughGated extends StatelessCircuit
+public class PassthroughGated extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
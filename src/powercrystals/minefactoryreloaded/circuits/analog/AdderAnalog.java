@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.analog;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class AdderAnalog extends StatelessCircuit
+public class AdderAnalog extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.analog;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Max4 extends StatelessCircuit
+public class Max4 extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
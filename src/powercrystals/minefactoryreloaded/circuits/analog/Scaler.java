@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.analog;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Scaler extends StatelessCircuit
+public class Scaler extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	private static String[] _inputPinNames = new String[] { "I", "IMn", "IMx", "OMn", "OMx" };
 	
@@ -0,0 +1,86 @@
+package powercrystals.minefactoryreloaded.circuits.base;
+
+/**
+ * A ring buffer of the last inputs to a delay circuit, oldest first. Storage grows with the delay as inputs arrive,
+ * so a large delay does not cost anything until it has been running that long.
+ */
+public class DelayLine
+{
+	private static final int[] EMPTY = new int[0];
+
+	private int[] values = EMPTY;
+	private int start;
+	private int count;
+
+	/**
+	 * Stores {@code input} and returns the input from {@code delay} steps ago, or 0 if there has not been one yet.
+	 */
+	public int step(int input, int delay)
+	{
+		if (delay <= 0)
+		{
+			count = 0;
+			return input;
+		}
+
+		if (count > delay)
+		{
+			// the delay was shortened; forget the inputs that are now too old
+			start = (start + count - delay) % values.length;
+			count = delay;
+		}
+
+		int output = 0;
+		if (count == delay)
+		{
+			output = values[start];
+			if (++start == values.length)
+				start = 0;
+			--count;
+		}
+		else if (count == values.length)
+		{
+			grow(delay);
+		}
+
+		int end = start + count;
+		values[end < values.length ? end : end - values.length] = input;
+		++count;
+		return output;
+	}
+
+	private void grow(int delay)
+	{
+		int[] n = new int[Math.min(Math.max(values.length * 2, 8), delay)];
+		copyTo(n);
+		values = n;
+		start = 0;
+	}
+
+	private void copyTo(int[] out)
+	{
+		int first = Math.min(count, values.length - start);
+		System.arraycopy(values, start, out, 0, first);
+		System.arraycopy(values, 0, out, first, count - first);
+	}
+
+	/**
+	 * @return The stored inputs, oldest first.
+	 */
+	public int[] toArray()
+	{
+		int[] out = new int[count];
+		copyTo(out);
+		return out;
+	}
+
+	/**
+	 * Replaces the stored inputs with {@code history}, oldest first.
+	 */
+	public void load(int[] history)
+	{
+		values = history.length > 0 ? history.clone() : EMPTY;
+		start = 0;
+		count = history.length;
+	}
+}
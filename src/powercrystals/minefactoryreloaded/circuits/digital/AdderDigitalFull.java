@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.digital;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class AdderDigitalFull extends StatelessCircuit
+public class AdderDigitalFull extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.digital;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class DeMux16Analog extends StatelessCircuit
+public class DeMux16Analog extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
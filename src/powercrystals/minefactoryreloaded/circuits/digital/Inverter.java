@@ -1,8 +1,10 @@
 package powercrystals.minefactoryreloaded.circuits.digital;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitInPlace;
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Inverter extends StatelessCircuit
+public class Inverter extends StatelessCircuit implements IRedNetLogicCircuitInPlace, IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
@@ -29,6 +31,12 @@ public class Inverter extends StatelessCircuit
 		}
 	}
 	
+	@Override
+	public void recalculateOutputValues(long worldTime, int[] registers, int[] pins, int inputs, int outputs)
+	{
+		registers[pins[outputs]] = registers[pins[inputs]] > 0 ? 0 : 15;
+	}
+	
 	@Override
 	public String getUnlocalizedName()
 	{
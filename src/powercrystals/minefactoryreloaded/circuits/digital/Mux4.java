@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.digital;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Mux4 extends StatelessCircuit
+public class Mux4 extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	private static String[] _inputPinNames = new String[] { "I0", "I1", "I2", "I3", "S0", "S1" };
 	
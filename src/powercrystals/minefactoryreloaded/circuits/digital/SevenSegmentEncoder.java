@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.digital;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class SevenSegmentEncoder extends StatelessCircuit
+public class SevenSegmentEncoder extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	private static String[] _outputPinNames = new String[] { "A", "B", "C", "D", "E", "F", "G" };
 	
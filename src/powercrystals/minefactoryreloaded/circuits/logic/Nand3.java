@@ -1,8 +1,10 @@
 package powercrystals.minefactoryreloaded.circuits.logic;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitInPlace;
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class Nand3 extends StatelessCircuit
+public class Nand3 extends StatelessCircuit implements IRedNetLogicCircuitInPlace, IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
@@ -26,6 +28,12 @@ public class Nand3 extends StatelessCircuit
 		return new int[] { 0 };
 	}
 	
+	@Override
+	public void recalculateOutputValues(long worldTime, int[] registers, int[] pins, int inputs, int outputs)
+	{
+		registers[pins[outputs]] = !(registers[pins[inputs]] > 0 && registers[pins[inputs + 1]] > 0 && registers[pins[inputs + 2]] > 0) ? 15 : 0;
+	}
+	
 	@Override
 	public String getUnlocalizedName()
 	{
@@ -1,8 +1,9 @@
 package powercrystals.minefactoryreloaded.circuits.logicboolean;
 
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
-public class GreaterOrEqual extends StatelessCircuit
+public class GreaterOrEqual extends StatelessCircuit implements IRedNetLogicCircuitStateless
 {
 	@Override
 	public byte getInputCount()
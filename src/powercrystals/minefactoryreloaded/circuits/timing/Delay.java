@@ -1,14 +1,13 @@
 package powercrystals.minefactoryreloaded.circuits.timing;
 
-import java.util.ArrayList;
-
 import net.minecraft.nbt.NBTTagCompound;
+import powercrystals.minefactoryreloaded.circuits.base.DelayLine;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
 public class Delay extends StatelessCircuit
 {
 	private int delayTime;
-	private ArrayList<Integer> history = new ArrayList<Integer>();
+	private DelayLine history = new DelayLine();
 	
 	@Override
 	public byte getInputCount()
@@ -25,9 +24,6 @@ public class Delay extends StatelessCircuit
 	@Override
 	public int[] recalculateOutputValues(long worldTime, int[] inputValues)
 	{
-		
-		int output = 0;
-		
 		this.delayTime = inputValues[1];
 		
 		if(delayTime < 0)
@@ -35,19 +31,7 @@ public class Delay extends StatelessCircuit
 			delayTime = 0;
 		}
 		
-		this.history.add(0, inputValues[0]);
-		
-		if(this.history.size() > delayTime)
-		{
-			output = this.history.get(this.delayTime);
-			
-			for(int i = this.delayTime; i < this.history.size(); i++)
-			{
-				this.history.remove(i);
-			}
-		}
-		
-		return new int[] { output };
+		return new int[] { history.step(inputValues[0], delayTime) };
 	}
 	
 	@Override
@@ -73,25 +57,37 @@ public class Delay extends StatelessCircuit
 	{
 		delayTime = tag.getInteger("delayTime");
 		
+		if(tag.hasKey("history"))
+		{
+			history.load(tag.getIntArray("history"));
+		}
+		else
+		{
+			history.load(readOldHistory(tag, "inputH", delayTime));
+		}
+	}
+	
+	/**
+	 * Reads history saved before it was kept in a ring buffer: one tag per input, newest first.
+	 */
+	static int[] readOldHistory(NBTTagCompound tag, String prefix, int delayTime)
+	{
+		if(!tag.hasKey(prefix + 0))
+		{
+			return new int[0];
+		}
+		int[] history = new int[delayTime];
 		for(int i = 0; i < delayTime; i++)
 		{
-			history.add(tag.getInteger("inputH" + i));
+			history[delayTime - 1 - i] = tag.getInteger(prefix + i);
 		}
+		return history;
 	}
 	
 	@Override
 	public void writeToNBT(NBTTagCompound tag)
 	{
 		tag.setInteger("delayTime", delayTime);
-		
-		for(Integer inputH : history)
-		{
-			int i = 0;
-			
-			tag.setInteger("inputH" + i, inputH);
-			
-			i++;
-		}
-		
+		tag.setIntArray("history", history.toArray());
 	}
 }
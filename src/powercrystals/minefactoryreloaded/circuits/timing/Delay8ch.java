@@ -1,23 +1,19 @@
 package powercrystals.minefactoryreloaded.circuits.timing;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import net.minecraft.nbt.NBTTagCompound;
+import powercrystals.minefactoryreloaded.circuits.base.DelayLine;
 import powercrystals.minefactoryreloaded.circuits.base.StatelessCircuit;
 
 public class Delay8ch extends StatelessCircuit
 {
 	private int delayTime;
-	private Map<Integer, List<Integer>> history = new HashMap<Integer, List<Integer>>();
+	private DelayLine[] history = new DelayLine[8];
 	
 	public Delay8ch()
 	{
 		for(int i = 0; i < 8; i++)
 		{
-			history.put(i, new ArrayList<Integer>());
+			history[i] = new DelayLine();
 		}
 	}
 	
@@ -49,17 +45,7 @@ public class Delay8ch extends StatelessCircuit
 
 		for(int p = 0; p < 8; p++)
 		{
-			this.history.get(p).add(0, inputValues[p]);
-			
-			if(this.history.get(p).size() > delayTime)
-			{
-				output[p] = this.history.get(p).get(this.delayTime);
-				
-				for(int i = this.delayTime; i < this.history.size(); i++)
-				{
-					this.history.get(p).remove(i);
-				}
-			}
+			output[p] = history[p].step(inputValues[p], delayTime);
 		}
 		
 		return output;
@@ -90,9 +76,13 @@ public class Delay8ch extends StatelessCircuit
 		
 		for(int p = 0; p < 8; p++)
 		{
-			for(int i = 0; i < delayTime; i++)
+			if(tag.hasKey("history" + p))
 			{
-				history.get(p).add(tag.getInteger("input" + p + "H" + i));
+				history[p].load(tag.getIntArray("history" + p));
+			}
+			else
+			{
+				history[p].load(Delay.readOldHistory(tag, "input" + p + "H", delayTime));
 			}
 		}
 	}
@@ -104,14 +94,7 @@ public class Delay8ch extends StatelessCircuit
 
 		for(int p = 0; p < 8; p++)
 		{
-			for(Integer inputH : history.get(p))
-			{
-				int i = 0;
-				
-				tag.setInteger("input" + p + "H" + i, inputH);
-				
-				i++;
-			}
+			tag.setIntArray("history" + p, history[p].toArray());
 		}
 	}
 }
@@ -0,0 +1,99 @@
+package powercrystals.minefactoryreloaded.core;
+
+import cofh.lib.util.position.Area;
+
+/**
+ * Walks the positions of an {@link Area} in the same order as {@link Area#getPositionsBottomFirst()} (y, then x, then
+ * z), working each position out from its index instead of keeping a list of them.
+ */
+public class AreaCursor {
+
+	private final int xMin, yMin, zMin;
+	private final int sizeX, sizeZ, layer, size;
+	private int index;
+
+	public AreaCursor(Area area) {
+
+		xMin = area.xMin;
+		yMin = area.yMin;
+		zMin = area.zMin;
+		sizeX = area.xMax - area.xMin + 1;
+		sizeZ = area.zMax - area.zMin + 1;
+		layer = sizeX * sizeZ;
+		size = layer * (area.yMax - area.yMin + 1);
+	}
+
+	public int size() {
+
+		return size;
+	}
+
+	/**
+	 * @return The index of the position the cursor is on.
+	 */
+	public int getIndex() {
+
+		return index;
+	}
+
+	public void setIndex(int index) {
+
+		this.index = index;
+	}
+
+	/**
+	 * Moves to the next position, going back to the first after the last.
+	 */
+	public void advance() {
+
+		if (++index >= size)
+			index = 0;
+	}
+
+	/**
+	 * Moves to the previous position, going to the last before the first.
+	 */
+	public void rewind() {
+
+		if (--index < 0)
+			index = size - 1;
+	}
+
+	public int getX() {
+
+		return getX(index);
+	}
+
+	public int getY() {
+
+		return getY(index);
+	}
+
+	public int getZ() {
+
+		return getZ(index);
+	}
+
+	public int getX(int i) {
+
+		return xMin + (i % layer) / sizeZ;
+	}
+
+	public int getY(int i) {
+
+		return yMin + i / layer;
+	}
+
+	public int getZ(int i) {
+
+		return zMin + i % sizeZ;
+	}
+
+	/**
+	 * @return The index of a position inside the area.
+	 */
+	public int indexOf(int x, int y, int z) {
+
+		return ((y - yMin) * sizeX + (x - xMin)) * sizeZ + (z - zMin);
+	}
+}
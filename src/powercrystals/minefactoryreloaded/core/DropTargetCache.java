@@ -0,0 +1,167 @@
+package powercrystals.minefactoryreloaded.core;
+
+import buildcraft.api.transport.IPipeTile;
+
+import cofh.api.transport.IItemDuct;
+import cofh.lib.inventory.IInventoryManager;
+import cofh.lib.inventory.InventoryManager;
+
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.common.util.ForgeDirection;
+
+/**
+ * The places a machine can put items, resolved once and reused by {@link UtilInventory#dropStack} until the owner
+ * calls {@link #invalidate()} on a neighbour block change or rotation, or {@link #invalidate(int, int, int)} when a
+ * neighbouring tile entity changes.
+ * <p>
+ * A cached tile entity that has been invalidated without the owner hearing about it (such as one in a chunk that
+ * unloaded) makes the next drop resolve everything again. Vanilla chests are re-paired with their other half on each
+ * use, since one can be placed out of the owner's reach.
+ */
+public class DropTargetCache {
+
+	private static final int SIDES = ForgeDirection.VALID_DIRECTIONS.length;
+
+	private final TileEntity owner;
+	private boolean resolved;
+
+	// all indexed by the ForgeDirection ordinal of the side they are on
+	private final TileEntity[] tiles = new TileEntity[SIDES];
+	private final IItemDuct[] conduits = new IItemDuct[SIDES];
+	private final Object[] pipes = new Object[SIDES];
+	private final IInventoryManager[] chests = new IInventoryManager[SIDES];
+	private final TileEntity[] partners = new TileEntity[SIDES];
+
+	public DropTargetCache(TileEntity owner) {
+
+		this.owner = owner;
+	}
+
+	public void invalidate() {
+
+		if (resolved) {
+			resolved = false;
+			for (int i = 0; i < SIDES; ++i) {
+				tiles[i] = partners[i] = null;
+				conduits[i] = null;
+				pipes[i] = null;
+				chests[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * Re-resolves the side the neighbour at {@code x, y, z} is on, if the tile entity there is not the one cached.
+	 * Neighbours report a change every time their contents change, so this leaves the cache alone for those.
+	 */
+	public void invalidate(int x, int y, int z) {
+
+		if (!resolved)
+			return;
+		World world = owner.getWorldObj();
+		for (int i = 0; i < SIDES; ++i) {
+			ForgeDirection d = ForgeDirection.VALID_DIRECTIONS[i];
+			if (owner.xCoord + d.offsetX == x && owner.yCoord + d.offsetY == y && owner.zCoord + d.offsetZ == z) {
+				if (world.getTileEntity(x, y, z) != tiles[i])
+					resolveSide(world, i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Drops a stack into conduits > pipes > chests > the world, like
+	 * {@link UtilInventory#dropStack(World, cofh.lib.util.position.BlockPosition, ItemStack, ForgeDirection[], ForgeDirection)}
+	 *
+	 * @return The remainder of the ItemStack. Whatever -wasn't- successfully dropped.
+	 */
+	public ItemStack dropStack(ItemStack stack, ForgeDirection[] dropdirections, ForgeDirection airdropdirection) {
+
+		World world = owner.getWorldObj();
+		if (world.isRemote | stack == null || stack.stackSize == 0 || stack.getItem() == null)
+			return null;
+
+		if (!resolved || !isCurrent())
+			resolve(world);
+
+		stack = stack.copy();
+		for (ForgeDirection d : dropdirections) {
+			int i = d.ordinal();
+			if (i < SIDES && conduits[i] != null) {
+				stack = conduits[i].insertItem(d.getOpposite(), stack);
+				if (stack == null || stack.stackSize <= 0)
+					return null;
+			}
+		}
+		if (UtilInventory.handlePipeTiles) {
+			for (ForgeDirection d : dropdirections) {
+				int i = d.ordinal();
+				if (i < SIDES && pipes[i] != null) {
+					stack = UtilInventory.injectIntoPipe(pipes[i], d.getOpposite(), stack);
+					if (stack == null)
+						return null;
+				}
+			}
+		}
+		for (ForgeDirection d : dropdirections) {
+			int i = d.ordinal();
+			if (i < SIDES && tiles[i] instanceof IInventory) {
+				IInventoryManager manager = getChest(world, i);
+				stack = manager.addItem(stack);
+				if (stack == null || stack.stackSize <= 0)
+					return null;
+			}
+		}
+
+		if (MFRUtil.VALID_DIRECTIONS.contains(airdropdirection)) {
+			int x = owner.xCoord, y = owner.yCoord, z = owner.zCoord;
+			if (UtilInventory.isAirDrop(world, x + airdropdirection.offsetX, y + airdropdirection.offsetY,
+				z + airdropdirection.offsetZ)) {
+				UtilInventory.dropStackInAir(world, x, y, z, stack, 20, airdropdirection);
+				return null;
+			}
+		}
+		return stack;
+	}
+
+	private boolean isCurrent() {
+
+		for (int i = 0; i < SIDES; ++i)
+			if (tiles[i] != null && tiles[i].isInvalid())
+				return false;
+		return true;
+	}
+
+	private void resolve(World world) {
+
+		resolved = true;
+		for (int i = 0; i < SIDES; ++i)
+			resolveSide(world, i);
+	}
+
+	private void resolveSide(World world, int i) {
+
+		ForgeDirection d = ForgeDirection.VALID_DIRECTIONS[i];
+		TileEntity te = world.getTileEntity(owner.xCoord + d.offsetX, owner.yCoord + d.offsetY, owner.zCoord + d.offsetZ);
+		tiles[i] = te;
+		partners[i] = null;
+		chests[i] = null;
+		conduits[i] = te instanceof IItemDuct ? (IItemDuct) te : null;
+		pipes[i] = UtilInventory.handlePipeTiles && te instanceof IPipeTile ? te : null;
+	}
+
+	private IInventoryManager getChest(World world, int i) {
+
+		TileEntity te = tiles[i];
+		TileEntity partner = UtilInventory.findChestPartner(world, te.xCoord, te.yCoord, te.zCoord);
+		if (chests[i] == null || partner != partners[i]) {
+			partners[i] = partner;
+			chests[i] = InventoryManager.create(UtilInventory.pairChest(te, partner),
+				ForgeDirection.VALID_DIRECTIONS[i].getOpposite());
+		}
+		return chests[i];
+	}
+}
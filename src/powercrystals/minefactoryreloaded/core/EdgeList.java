@@ -0,0 +1,92 @@
+package powercrystals.minefactoryreloaded.core;
+
+import java.util.Arrays;
+
+import net.minecraftforge.common.util.ForgeDirection;
+
+/**
+ * A flat list of the (node, side) pairs of a grid that have something other than a conduit attached, so that update
+ * passes only visit real endpoints rather than every side of every node.
+ * <p>
+ * A node's edges are always stored next to each other, in the order its sides were set. Each edge also carries an
+ * int of grid-defined data, which starts at 0 and is kept until the node's edges are next set.
+ */
+public class EdgeList<N> {
+
+	private Object[] nodes = new Object[8];
+	private byte[] sides = new byte[8];
+	private int[] data = new int[8];
+	private int size;
+
+	/**
+	 * Replaces the edges of {@code node} with one edge for every bit set in {@code sideMask}.
+	 */
+	public void set(N node, int sideMask) {
+
+		Object[] nodes = this.nodes;
+		byte[] sides = this.sides;
+		int[] data = this.data;
+		int size = this.size, n = 0;
+		for (int i = 0; i < size; ++i)
+			if (nodes[i] != node) {
+				nodes[n] = nodes[i];
+				sides[n] = sides[i];
+				data[n] = data[i];
+				++n;
+			}
+		int count = Integer.bitCount(sideMask);
+		if (n + count > nodes.length) {
+			int len = Math.max(nodes.length * 2, n + count);
+			this.nodes = nodes = Arrays.copyOf(nodes, len);
+			this.sides = sides = Arrays.copyOf(sides, len);
+			this.data = data = Arrays.copyOf(data, len);
+		}
+		for (int i = 0; i < 6; ++i)
+			if ((sideMask & (1 << i)) != 0) {
+				nodes[n] = node;
+				sides[n] = (byte) i;
+				data[n] = 0;
+				++n;
+			}
+		if (n < size)
+			Arrays.fill(nodes, n, size, null);
+		this.size = n;
+	}
+
+	public void remove(N node) {
+
+		set(node, 0);
+	}
+
+	public void clear() {
+
+		Arrays.fill(nodes, 0, size, null);
+		size = 0;
+	}
+
+	public int size() {
+
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public N getNode(int i) {
+
+		return (N) nodes[i];
+	}
+
+	public ForgeDirection getSide(int i) {
+
+		return ForgeDirection.VALID_DIRECTIONS[sides[i]];
+	}
+
+	public int getData(int i) {
+
+		return data[i];
+	}
+
+	public void setData(int i, int value) {
+
+		data[i] = value;
+	}
+}
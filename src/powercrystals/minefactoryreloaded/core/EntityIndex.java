@@ -0,0 +1,227 @@
+package powercrystals.minefactoryreloaded.core;
+
+import gnu.trove.iterator.TLongObjectIterator;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**
+ * A per-world copy of the entities in the chunk sections that machines look at, grouped by class, so that machines
+ * with overlapping areas share one pass over each section per tick and skip entities of the wrong type without
+ * testing them.
+ * <p>
+ * Sections are copied from the chunk the first time they are queried in a tick; entities that move between sections
+ * later in the same tick are found where they were. Only the server thread builds indices; queries on client worlds
+ * go straight to the world.
+ */
+public class EntityIndex {
+
+	public static interface IEntityVisitor<T extends Entity> {
+
+		/**
+		 * @return False to stop visiting.
+		 */
+		public boolean visit(T entity);
+	}
+
+	// entities this far outside a section may still overlap a box inside it (see World.MAX_ENTITY_RADIUS)
+	private static final double MAX_ENTITY_RADIUS = 2.0D;
+	private static final int PRUNE_INTERVAL = 600;
+
+	private static HashMap<World, EntityIndex> indices = new HashMap<World, EntityIndex>();
+
+	private static EntityIndex get(World world) {
+
+		EntityIndex index = indices.get(world);
+		if (index == null)
+			indices.put(world, index = new EntityIndex(world));
+		return index;
+	}
+
+	public static void remove(World world) {
+
+		indices.remove(world);
+	}
+
+	/**
+	 * Calls {@code visitor} with each entity of {@code type} whose bounding box intersects {@code box}.
+	 *
+	 * @return False if the visitor stopped early.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Entity> boolean visit(World world, Class<T> type, AxisAlignedBB box,
+			IEntityVisitor<? super T> visitor) {
+
+		if (world.isRemote) {
+			List<?> list = world.getEntitiesWithinAABB(type, box);
+			for (int i = 0, e = list.size(); i < e; ++i)
+				if (!visitor.visit((T) list.get(i)))
+					return false;
+			return true;
+		}
+		return get(world).visitEntities(type, box, visitor);
+	}
+
+	/**
+	 * Replaces the contents of {@code out} with each entity of {@code type} whose bounding box intersects {@code box}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Entity> List<T> collect(World world, Class<T> type, AxisAlignedBB box, List<T> out) {
+
+		out.clear();
+		Collector collector = world.isRemote ? new Collector() : get(world).collector;
+		collector.out = (List<Entity>) out;
+		try {
+			visit(world, type, box, collector);
+		} finally {
+			collector.out = null;
+		}
+		return out;
+	}
+
+	public static int count(World world, Class<? extends Entity> type, AxisAlignedBB box) {
+
+		Counter counter = world.isRemote ? new Counter() : get(world).counter;
+		counter.count = 0;
+		visit(world, type, box, counter);
+		return counter.count;
+	}
+
+	private final World world;
+	private final TLongObjectHashMap<Section> sections = new TLongObjectHashMap<Section>();
+	private final Collector collector = new Collector();
+	private final Counter counter = new Counter();
+	private long nextPrune;
+
+	private EntityIndex(World world) {
+
+		this.world = world;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends Entity> boolean visitEntities(Class<T> type, AxisAlignedBB box, IEntityVisitor<? super T> visitor) {
+
+		long now = world.getTotalWorldTime();
+		if (now >= nextPrune)
+			prune(now);
+
+		int cxMin = MathHelper.floor_double((box.minX - MAX_ENTITY_RADIUS) / 16.0D);
+		int cxMax = MathHelper.floor_double((box.maxX + MAX_ENTITY_RADIUS) / 16.0D);
+		int czMin = MathHelper.floor_double((box.minZ - MAX_ENTITY_RADIUS) / 16.0D);
+		int czMax = MathHelper.floor_double((box.maxZ + MAX_ENTITY_RADIUS) / 16.0D);
+		int syMin = Math.max(MathHelper.floor_double((box.minY - MAX_ENTITY_RADIUS) / 16.0D), 0);
+		int syMax = Math.min(MathHelper.floor_double((box.maxY + MAX_ENTITY_RADIUS) / 16.0D), 15);
+
+		for (int cx = cxMin; cx <= cxMax; ++cx)
+			for (int cz = czMin; cz <= czMax; ++cz) {
+				if (!world.getChunkProvider().chunkExists(cx, cz))
+					continue;
+				Chunk chunk = null;
+				for (int sy = syMin; sy <= syMax; ++sy) {
+					long key = sectionKey(cx, sy, cz);
+					Section section = sections.get(key);
+					if (section == null)
+						sections.put(key, section = new Section());
+					if (section.builtAt != now) {
+						if (chunk == null)
+							chunk = world.getChunkFromChunkCoords(cx, cz);
+						section.build(chunk.entityLists[sy], now);
+					}
+					for (int c = 0, e = section.classCount; c < e; ++c) {
+						if (!type.isAssignableFrom(section.classes.get(c)))
+							continue;
+						ArrayList<Entity> entities = section.entities.get(c);
+						for (int i = 0, k = entities.size(); i < k; ++i) {
+							Entity entity = entities.get(i);
+							if (entity.boundingBox.intersectsWith(box) && !visitor.visit((T) entity))
+								return false;
+						}
+					}
+				}
+			}
+		return true;
+	}
+
+	private void prune(long now) {
+
+		nextPrune = now + PRUNE_INTERVAL;
+		for (TLongObjectIterator<Section> iter = sections.iterator(); iter.hasNext();) {
+			iter.advance();
+			if (iter.value().builtAt < now - PRUNE_INTERVAL)
+				iter.remove();
+		}
+	}
+
+	private static long sectionKey(int cx, int sy, int cz) {
+
+		return ((cx & 0xFFFFFFFL) << 32) | ((cz & 0xFFFFFFFL) << 4) | sy;
+	}
+
+	private static final class Section {
+
+		long builtAt = Long.MIN_VALUE;
+		int classCount;
+		// parallel lists; entries past classCount are kept to be reused
+		final ArrayList<Class<?>> classes = new ArrayList<Class<?>>(4);
+		final ArrayList<ArrayList<Entity>> entities = new ArrayList<ArrayList<Entity>>(4);
+
+		void build(List<?> list, long now) {
+
+			builtAt = now;
+			for (int c = 0; c < classCount; ++c)
+				entities.get(c).clear();
+			classCount = 0;
+
+			for (int i = 0, e = list.size(); i < e; ++i) {
+				Entity entity = (Entity) list.get(i);
+				Class<?> cls = entity.getClass();
+				int c = 0;
+				while (c < classCount && classes.get(c) != cls)
+					++c;
+				if (c == classCount) {
+					if (c == classes.size()) {
+						classes.add(cls);
+						entities.add(new ArrayList<Entity>());
+					} else
+						classes.set(c, cls);
+					++classCount;
+				}
+				entities.get(c).add(entity);
+			}
+			for (int c = classCount, e = classes.size(); c < e; ++c)
+				classes.set(c, null);
+		}
+	}
+
+	private static final class Collector implements IEntityVisitor<Entity> {
+
+		List<Entity> out;
+
+		@Override
+		public boolean visit(Entity entity) {
+
+			out.add(entity);
+			return true;
+		}
+	}
+
+	private static final class Counter implements IEntityVisitor<Entity> {
+
+		int count;
+
+		@Override
+		public boolean visit(Entity entity) {
+
+			++count;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,303 @@
+package powercrystals.minefactoryreloaded.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Re-floods a grid from the neighbours of conduits that were removed from it, instead of rebuilding the whole grid.
+ * <p>
+ * One search is started from each neighbour and the searches are advanced one conduit at a time in turn. Searches
+ * that meet are joined, and flooding stops as soon as only one search is left; any search that runs out of conduits
+ * before that is a piece that was cut off and is split into a grid of its own. The cost is therefore bounded by the
+ * size of the pieces that were cut off, not by the size of the grid.
+ * <p>
+ * Work can be spread over several ticks: {@link #run} stops at a deadline and picks up where it left off on the
+ * next call. Conduits added in the meantime join the running job as searches of their own; if any are removed, the
+ * job is started over.
+ */
+public class GridSplitter<C> {
+
+	public static interface IConnectivity<C> {
+
+		/**
+		 * @return True if {@code cond} still belongs to the grid being split.
+		 */
+		public boolean ownsConduit(C cond);
+
+		/**
+		 * Adds every conduit connected to {@code cond} that still belongs to the grid being split.
+		 */
+		public void getConnections(C cond, List<C> out);
+
+		/**
+		 * Moves {@code conduits} out of the grid being split and into a new grid. If {@code connected} is false
+		 * the conduits may form more than one piece, and the new grid must regenerate itself.
+		 */
+		public void splitOff(List<C> conduits, boolean connected);
+	}
+
+	private static final int STEPS_PER_CHECK = 32;
+
+	private final IConnectivity<C> grid;
+	private LinkedHashSet<C> seeds = new LinkedHashSet<C>();
+	private boolean sweep;
+
+	//{ state of the running job; searches is null when idle
+	private ArrayList<Search<C>> searches;
+	private IdentityHashMap<C, Search<C>> owner;
+	private ArrayList<C> jobSeeds;
+	private boolean jobSweep;
+	private int active, next;
+	//}
+	private boolean inRun, modified;
+	private final ArrayList<C> connections = new ArrayList<C>(6);
+
+	public GridSplitter(IConnectivity<C> grid) {
+
+		this.grid = grid;
+	}
+
+	public void addSeed(C cond) {
+
+		seeds.add(cond);
+	}
+
+	/**
+	 * Requests a flood of the entire grid, for when the removed conduits are not known.
+	 */
+	public void requestSweep() {
+
+		sweep = true;
+	}
+
+	public void takeSeeds(GridSplitter<C> other) {
+
+		other.cancel();
+		seeds.addAll(other.seeds);
+		other.seeds.clear();
+		sweep |= other.sweep;
+		other.sweep = false;
+	}
+
+	/**
+	 * Called by the grid whenever a conduit is added to it. Adding a conduit cannot cut anything off, so a running job
+	 * carries on with the conduit as one more search.
+	 */
+	public void added(C cond) {
+
+		if (inRun | modified || searches == null || owner.containsKey(cond))
+			return;
+		Search<C> search = new Search<C>(cond);
+		owner.put(cond, search);
+		searches.add(search);
+		++active;
+	}
+
+	/**
+	 * Called by the grid whenever a conduit is removed from it.
+	 */
+	public void removed() {
+
+		if (!inRun)
+			modified = true;
+	}
+
+	public boolean isIdle() {
+
+		return searches == null & !sweep && seeds.isEmpty();
+	}
+
+	public void clear() {
+
+		searches = null;
+		owner = null;
+		jobSeeds = null;
+		seeds.clear();
+		sweep = false;
+	}
+
+	/**
+	 * Advances any queued work until it is done or {@code deadline} (in {@link System#nanoTime()} units) passes.
+	 *
+	 * @param conduits
+	 *            The grid's conduits, used to start a full sweep and to find what it could not reach.
+	 * @return True if there is no work left.
+	 */
+	public boolean run(Collection<C> conduits, long deadline) {
+
+		if (modified) {
+			modified = false;
+			cancel();
+		}
+		inRun = true;
+		try {
+			for (int steps = 1;; ++steps) {
+				if (searches == null && !start(conduits))
+					return true;
+				if (!step())
+					finish(conduits);
+				else if (steps % STEPS_PER_CHECK == 0 && System.nanoTime() >= deadline)
+					return false;
+			}
+		} finally {
+			inRun = false;
+		}
+	}
+
+	private void cancel() {
+
+		if (searches == null)
+			return;
+		if (jobSweep)
+			sweep = true;
+		else
+			seeds.addAll(jobSeeds);
+		searches = null;
+		owner = null;
+		jobSeeds = null;
+	}
+
+	private boolean start(Collection<C> conduits) {
+
+		IConnectivity<C> grid = this.grid;
+		if (sweep) {
+			sweep = false;
+			seeds.clear();
+			jobSweep = true;
+			jobSeeds = new ArrayList<C>(1);
+			Iterator<C> iter = conduits.iterator();
+			if (iter.hasNext())
+				jobSeeds.add(iter.next());
+		} else if (!seeds.isEmpty()) {
+			jobSweep = false;
+			jobSeeds = new ArrayList<C>(seeds);
+			seeds.clear();
+		} else
+			return false;
+
+		owner = new IdentityHashMap<C, Search<C>>();
+		searches = new ArrayList<Search<C>>(jobSeeds.size());
+		for (C seed : jobSeeds)
+			if (grid.ownsConduit(seed) && !owner.containsKey(seed)) {
+				Search<C> search = new Search<C>(seed);
+				owner.put(seed, search);
+				searches.add(search);
+			}
+		active = searches.size();
+		next = 0;
+		return true;
+	}
+
+	/**
+	 * Advances the next search by one conduit.
+	 *
+	 * @return False if the job is complete.
+	 */
+	private boolean step() {
+
+		if (active <= (jobSweep ? 0 : 1))
+			return false;
+
+		ArrayList<Search<C>> searches = this.searches;
+		Search<C> search;
+		do {
+			search = searches.get(next);
+			if (++next == searches.size())
+				next = 0;
+		} while (search.parent != search | search.done);
+
+		C cond = search.queue.poll();
+		if (cond == null) {
+			// nothing left to reach: this piece is no longer connected to the others
+			search.done = true;
+			--active;
+			if (!jobSweep)
+				grid.splitOff(search.members, true);
+			return true;
+		}
+
+		ArrayList<C> connections = this.connections;
+		connections.clear();
+		grid.getConnections(cond, connections);
+		for (int j = 0, k = connections.size(); j < k; ++j) {
+			C other = connections.get(j);
+			Search<C> reached = owner.get(other);
+			if (reached == null) {
+				owner.put(other, search);
+				search.queue.add(other);
+				search.members.add(other);
+			} else if ((reached = reached.find()) != search) {
+				// a finished search can only be reached through a conduit added after it finished
+				if (!reached.done)
+					--active;
+				search = search.join(reached);
+				search.done = false;
+			}
+		}
+		return true;
+	}
+
+	private void finish(Collection<C> conduits) {
+
+		if (jobSweep) {
+			// conduits added during the job may have flooded pieces the first search never reached
+			Search<C> reached = searches.isEmpty() ? null : searches.get(0).find();
+			ArrayList<C> unreached = new ArrayList<C>();
+			for (C cond : conduits) {
+				Search<C> search = owner.get(cond);
+				if (search == null || search.find() != reached)
+					unreached.add(cond);
+			}
+			if (!unreached.isEmpty())
+				grid.splitOff(unreached, false);
+		}
+		searches = null;
+		owner = null;
+		jobSeeds = null;
+	}
+
+	private static final class Search<C> {
+
+		final ArrayDeque<C> queue = new ArrayDeque<C>();
+		final ArrayList<C> members = new ArrayList<C>();
+		Search<C> parent = this;
+		boolean done;
+
+		Search(C seed) {
+
+			queue.add(seed);
+			members.add(seed);
+		}
+
+		Search<C> find() {
+
+			Search<C> s = this;
+			while (s.parent != s)
+				s = s.parent = s.parent.parent;
+			return s;
+		}
+
+		/**
+		 * Joins two searches that reached each other, copying the smaller into the larger.
+		 */
+		Search<C> join(Search<C> other) {
+
+			Search<C> big = this, small = other;
+			if (small.members.size() > big.members.size()) {
+				big = other;
+				small = this;
+			}
+			big.queue.addAll(small.queue);
+			big.members.addAll(small.members);
+			small.queue.clear();
+			small.members.clear();
+			small.parent = big;
+			return big;
+		}
+	}
+}
@@ -5,17 +5,37 @@ import cofh.lib.util.position.Area;
 import cofh.lib.util.position.BlockPosition;
 import cofh.lib.util.position.IRotateableTile;
 
-import java.util.List;
-
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S35PacketUpdateTileEntity;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
-public class HarvestAreaManager <T extends TileEntity & IRotateableTile>
+import powercrystals.minefactoryreloaded.core.HarvestCandidateIndex.IBlockChangeListener;
+
+public class HarvestAreaManager <T extends TileEntity & IRotateableTile> implements IBlockChangeListener
 {
+	/**
+	 * Decides which positions in the area are worth visiting; see {@link HarvestAreaManager#setCandidateFilter}.
+	 */
+	public static interface ICandidateFilter
+	{
+		/**
+		 * @return True if there may be work to do at the given position. Called whenever the block there or the
+		 *         block below it changes.
+		 */
+		public boolean isCandidate(World world, int x, int y, int z);
+
+		/**
+		 * Called when a candidate turns up after there were none.
+		 */
+		public void onCandidatesAvailable();
+	}
+
+	private static final int RESCAN_INTERVAL = 1200;
+
 	private T _owner;
 
 	private int _originX;
@@ -33,14 +53,22 @@ public class HarvestAreaManager <T extends TileEntity & IRotateableTile>
 	private int _originOffsetY;
 	private int _originOffsetZ;
 
-	private List<BlockPosition> _harvestedBlocks;
-	private int _currentBlock;
+	private AreaCursor _harvestedBlocks;
+	private int _lastBlock;
 	private boolean _usesBlocks;
 	private boolean _upgradeVertical;
 
 	private int _upgradeLevel;
 	private float _upgradeModifier;
 
+	private ICandidateFilter _candidateFilter;
+	// one bit per position in _harvestedBlocks; null until tracking starts
+	private long[] _candidates;
+	private int _candidateCount;
+	private World _trackedWorld;
+	private Area _trackedArea;
+	private long _nextRescan;
+
 	public HarvestAreaManager(T owner, int harvestRadius,
 			int harvestAreaUp, int harvestAreaDown, float upgradeModifier, boolean usesBlocks)
 	{
@@ -99,36 +127,194 @@ public class HarvestAreaManager <T extends TileEntity & IRotateableTile>
 		return _radius + _upgradeLevel;
 	}
 
+	/**
+	 * Limits {@link #getNextBlock} to positions that {@code filter} accepts. The area's blocks are scanned once, then
+	 * kept up to date from block changes on the server.
+	 */
+	public void setCandidateFilter(ICandidateFilter filter)
+	{
+		untrackCandidates();
+		_candidateFilter = filter;
+	}
+
+	/**
+	 * @return The next position to work on, or null if there is a candidate filter and nothing passes it.
+	 */
 	public BlockPosition getNextBlock()
+	{
+		if (!nextBlock())
+			return null;
+		return new BlockPosition(getBlockX(), getBlockY(), getBlockZ());
+	}
+
+	/**
+	 * Moves on to the next position to work on, which {@link #getBlockX}, {@link #getBlockY} and {@link #getBlockZ}
+	 * then return.
+	 *
+	 * @return False if there is a candidate filter and nothing passes it.
+	 */
+	public boolean nextBlock()
 	{
 		checkRecalculate();
-		BlockPosition next = _harvestedBlocks.get(_currentBlock);
-		_currentBlock++;
-		if(_currentBlock >= _harvestedBlocks.size())
+		if (_candidateFilter != null && !_owner.getWorldObj().isRemote)
+			return nextCandidate();
+		_lastBlock = _harvestedBlocks.getIndex();
+		_harvestedBlocks.advance();
+		return true;
+	}
+
+	public int getBlockX()
+	{
+		return _harvestedBlocks.getX(_lastBlock);
+	}
+
+	public int getBlockY()
+	{
+		return _harvestedBlocks.getY(_lastBlock);
+	}
+
+	public int getBlockZ()
+	{
+		return _harvestedBlocks.getZ(_lastBlock);
+	}
+
+	private boolean nextCandidate()
+	{
+		World world = _owner.getWorldObj();
+		if (_candidates == null || world != _trackedWorld)
+			trackCandidates(world);
+		else if (world.getTotalWorldTime() >= _nextRescan)
+			scanCandidates(world);
+
+		long[] bits = _candidates;
+		AreaCursor cursor = _harvestedBlocks;
+		int size = cursor.size();
+		while (_candidateCount > 0)
+		{
+			int i = nextSetBit(bits, cursor.getIndex(), size);
+			if (i < 0)
+				i = nextSetBit(bits, 0, size);
+			cursor.setIndex(i);
+			cursor.advance();
+			int x = cursor.getX(i), y = cursor.getY(i), z = cursor.getZ(i);
+			// unloaded positions are kept until they can be checked
+			if (!world.blockExists(x, y, z) || _candidateFilter.isCandidate(world, x, y, z))
+			{
+				_lastBlock = i;
+				return true;
+			}
+			bits[i >> 6] &= ~(1L << i);
+			--_candidateCount;
+		}
+		return false;
+	}
+
+	private static int nextSetBit(long[] bits, int from, int size)
+	{
+		int w = from >> 6;
+		if (w >= bits.length)
+			return -1;
+		long word = bits[w] & (-1L << from);
+		while (word == 0)
 		{
-			_currentBlock = 0;
+			if (++w == bits.length)
+				return -1;
+			word = bits[w];
 		}
+		int i = (w << 6) + Long.numberOfTrailingZeros(word);
+		return i < size ? i : -1;
+	}
 
-		return next;
+	private void trackCandidates(World world)
+	{
+		untrackCandidates();
+		Area area = _harvestArea;
+		_candidates = new long[(_harvestedBlocks.size() + 63) >> 6];
+		_trackedWorld = world;
+		_trackedArea = area;
+		HarvestCandidateIndex.register(world, this, area.xMin, area.zMin, area.xMax, area.zMax);
+		scanCandidates(world);
 	}
 
-	public void rewindBlock()
+	public void untrackCandidates()
+	{
+		if (_trackedWorld != null)
+		{
+			Area area = _trackedArea;
+			HarvestCandidateIndex.unregister(_trackedWorld, this, area.xMin, area.zMin, area.xMax, area.zMax);
+			_trackedWorld = null;
+			_trackedArea = null;
+		}
+		_candidates = null;
+		_candidateCount = 0;
+	}
+
+	private void scanCandidates(World world)
+	{
+		_nextRescan = world.getTotalWorldTime() + RESCAN_INTERVAL;
+		long[] bits = _candidates;
+		AreaCursor cursor = _harvestedBlocks;
+		int count = 0;
+		for (int i = 0, e = cursor.size(); i < e; ++i)
+		{
+			int x = cursor.getX(i), y = cursor.getY(i), z = cursor.getZ(i);
+			if (!world.blockExists(x, y, z) || _candidateFilter.isCandidate(world, x, y, z))
+			{
+				bits[i >> 6] |= 1L << i;
+				++count;
+			}
+			else
+				bits[i >> 6] &= ~(1L << i);
+		}
+		_candidateCount = count;
+	}
+
+	@Override
+	public void onBlockChanged(World world, int x, int y, int z)
 	{
-		_currentBlock--;
-		if(_currentBlock < 0)
+		if (world != _trackedWorld)
+			return;
+		boolean wasEmpty = _candidateCount == 0;
+		updateCandidate(world, x, y, z);
+		updateCandidate(world, x, y + 1, z);
+		if (wasEmpty && _candidateCount > 0)
+			_candidateFilter.onCandidatesAvailable();
+	}
+
+	private void updateCandidate(World world, int x, int y, int z)
+	{
+		Area a = _trackedArea;
+		if (x < a.xMin | x > a.xMax | y < a.yMin | y > a.yMax | z < a.zMin | z > a.zMax)
+			return;
+		int i = _harvestedBlocks.indexOf(x, y, z);
+		long bit = 1L << i, word = _candidates[i >> 6];
+		if (_candidateFilter.isCandidate(world, x, y, z))
 		{
-			_currentBlock = _harvestedBlocks.size() - 1;
+			if ((word & bit) == 0)
+				++_candidateCount;
+			_candidates[i >> 6] = word | bit;
 		}
+		else
+		{
+			if ((word & bit) != 0)
+				--_candidateCount;
+			_candidates[i >> 6] = word & ~bit;
+		}
+	}
+
+	public void rewindBlock()
+	{
+		_harvestedBlocks.rewind();
 	}
 
 	public void setPosition(int position) {
 
-		_currentBlock = position % _harvestedBlocks.size();
+		_harvestedBlocks.setIndex(position % _harvestedBlocks.size());
 	}
 
 	public int getPosition() {
 
-		return _currentBlock;
+		return _harvestedBlocks.getIndex();
 	}
 
 	public void setOverrideDirection(ForgeDirection dir)
@@ -246,7 +432,8 @@ public class HarvestAreaManager <T extends TileEntity & IRotateableTile>
 
 		_harvestArea = new Area(ourpos, radius, areaDown, areaUp);
 		if (_usesBlocks)
-			_harvestedBlocks = _harvestArea.getPositionsBottomFirst();
-		_currentBlock = 0;
+			_harvestedBlocks = new AreaCursor(_harvestArea);
+		_lastBlock = 0;
+		untrackCandidates();
 	}
 }
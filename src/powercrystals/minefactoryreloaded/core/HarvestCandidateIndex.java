@@ -0,0 +1,135 @@
+package powercrystals.minefactoryreloaded.core;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.IWorldAccess;
+import net.minecraft.world.World;
+
+/**
+ * Passes block changes in a world on to the {@link HarvestAreaManager}s (and other listeners, such as laser drills
+ * watching their column) whose areas contain them, so that they can keep track of which positions are worth visiting
+ * without scanning their whole area.
+ * <p>
+ * Block changes are seen through {@link IWorldAccess#markBlockForUpdate}, which is called for every change that is
+ * sent to clients; changes made without doing so are only picked up by the managers' periodic rescans.
+ */
+public class HarvestCandidateIndex implements IWorldAccess {
+
+	public static interface IBlockChangeListener {
+
+		/**
+		 * Called for changes anywhere in the chunks the listener registered for; filtering is up to the listener.
+		 */
+		public void onBlockChanged(World world, int x, int y, int z);
+	}
+
+	private static HashMap<World, HarvestCandidateIndex> indices = new HashMap<World, HarvestCandidateIndex>();
+
+	public static void register(World world, IBlockChangeListener area, int xMin, int zMin, int xMax, int zMax) {
+
+		HarvestCandidateIndex index = indices.get(world);
+		if (index == null) {
+			indices.put(world, index = new HarvestCandidateIndex(world));
+			world.addWorldAccess(index);
+		}
+		index.add(area, xMin >> 4, zMin >> 4, xMax >> 4, zMax >> 4);
+	}
+
+	public static void unregister(World world, IBlockChangeListener area, int xMin, int zMin, int xMax, int zMax) {
+
+		HarvestCandidateIndex index = indices.get(world);
+		if (index == null)
+			return;
+		index.remove(area, xMin >> 4, zMin >> 4, xMax >> 4, zMax >> 4);
+		if (index.chunks.isEmpty()) {
+			indices.remove(world);
+			world.removeWorldAccess(index);
+		}
+	}
+
+	private final World world;
+	private final TLongObjectHashMap<ArrayList<IBlockChangeListener>> chunks =
+			new TLongObjectHashMap<ArrayList<IBlockChangeListener>>();
+
+	private HarvestCandidateIndex(World world) {
+
+		this.world = world;
+	}
+
+	private void add(IBlockChangeListener area, int cxMin, int czMin, int cxMax, int czMax) {
+
+		for (int cx = cxMin; cx <= cxMax; ++cx)
+			for (int cz = czMin; cz <= czMax; ++cz) {
+				long key = ChunkCoordIntPair.chunkXZ2Int(cx, cz);
+				ArrayList<IBlockChangeListener> list = chunks.get(key);
+				if (list == null)
+					chunks.put(key, list = new ArrayList<IBlockChangeListener>(2));
+				list.add(area);
+			}
+	}
+
+	private void remove(IBlockChangeListener area, int cxMin, int czMin, int cxMax, int czMax) {
+
+		for (int cx = cxMin; cx <= cxMax; ++cx)
+			for (int cz = czMin; cz <= czMax; ++cz) {
+				long key = ChunkCoordIntPair.chunkXZ2Int(cx, cz);
+				ArrayList<IBlockChangeListener> list = chunks.get(key);
+				if (list != null && list.remove(area) && list.isEmpty())
+					chunks.remove(key);
+			}
+	}
+
+	@Override
+	public void markBlockForUpdate(int x, int y, int z) {
+
+		ArrayList<IBlockChangeListener> list = chunks.get(ChunkCoordIntPair.chunkXZ2Int(x >> 4, z >> 4));
+		if (list != null)
+			for (int i = 0, e = list.size(); i < e; ++i)
+				list.get(i).onBlockChanged(world, x, y, z);
+	}
+
+	//{ unused
+	@Override
+	public void markBlockForRenderUpdate(int x, int y, int z) {}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int xMin, int yMin, int zMin, int xMax, int yMax, int zMax) {}
+
+	@Override
+	public void playSound(String sound, double x, double y, double z, float volume, float pitch) {}
+
+	@Override
+	public void playSoundToNearExcept(EntityPlayer player, String sound, double x, double y, double z, float volume,
+			float pitch) {}
+
+	@Override
+	public void spawnParticle(String particle, double x, double y, double z, double vx, double vy, double vz) {}
+
+	@Override
+	public void onEntityCreate(Entity entity) {}
+
+	@Override
+	public void onEntityDestroy(Entity entity) {}
+
+	@Override
+	public void playRecord(String record, int x, int y, int z) {}
+
+	@Override
+	public void broadcastSound(int id, int x, int y, int z, int data) {}
+
+	@Override
+	public void playAuxSFX(EntityPlayer player, int id, int x, int y, int z, int data) {}
+
+	@Override
+	public void destroyBlockPartially(int entityId, int x, int y, int z, int progress) {}
+
+	@Override
+	public void onStaticEntitiesChanged() {}
+	//}
+}
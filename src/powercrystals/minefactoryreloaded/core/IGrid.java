@@ -4,6 +4,17 @@ public interface IGrid
 {
 	public void doGridPreUpdate();
 	public void doGridUpdate();
-	
-	public void markSweep();
+
+	/**
+	 * Rebuilds the grid's connectivity after conduits were removed, splitting off any pieces that were cut off.
+	 * Grids may do this incrementally from the neighbours of the removed conduits (see {@link GridSplitter}).
+	 * <p>
+	 * Large grids may not finish in one call: work stops once {@code deadline} (in {@link System#nanoTime()} units)
+	 * has passed, and the grid stays inert until a later call completes it.
+	 *
+	 * @return True if the grid is done regenerating.
+	 */
+	public boolean markSweep(long deadline);
+
+	public int getConduitCount();
 }
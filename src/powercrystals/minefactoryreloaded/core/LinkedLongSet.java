@@ -0,0 +1,164 @@
+package powercrystals.minefactoryreloaded.core;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing set of primitive longs that iterates in insertion order.
+ * <p>
+ * Keys are stored densely in insertion order, with the hash table holding indices into that array; removed keys leave
+ * a hole that is squeezed out the next time the array fills up. Iterate with:
+ *
+ * <pre>
+ * for (int i = 0, e = set.end(); i &lt; e; ++i)
+ * 	if (set.isLive(i))
+ * 		use(set.get(i));
+ * </pre>
+ *
+ * Removing keys while iterating is safe. Adding keys while iterating is not supported: it may compact the array,
+ * moving keys on both sides of the cursor.
+ */
+public class LinkedLongSet {
+
+	private static final int EMPTY = 0, REMOVED = -1;
+
+	private long[] keys;
+	private boolean[] dead;
+	private int[] table; // index + 1 into keys, or EMPTY/REMOVED
+	private int end, size, filled;
+
+	public LinkedLongSet() {
+
+		this(8);
+	}
+
+	public LinkedLongSet(int capacity) {
+
+		capacity = Math.max(capacity, 4);
+		keys = new long[capacity];
+		dead = new boolean[capacity];
+		table = new int[tableSize(capacity)];
+	}
+
+	private static int tableSize(int capacity) {
+
+		return Integer.highestOneBit(capacity * 2 - 1) << 1;
+	}
+
+	private static int hash(long key) {
+
+		key *= 0x9E3779B97F4A7C15L;
+		return (int) (key ^ (key >>> 32));
+	}
+
+	private int find(long key) {
+
+		int[] table = this.table;
+		int mask = table.length - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			int t = table[slot];
+			if (t == EMPTY)
+				return -1;
+			if (t != REMOVED && keys[t - 1] == key)
+				return slot;
+		}
+	}
+
+	public boolean contains(long key) {
+
+		return find(key) >= 0;
+	}
+
+	public boolean add(long key) {
+
+		if (find(key) >= 0)
+			return false;
+		if (end == keys.length)
+			rebuild(size * 2 > keys.length ? keys.length * 2 : keys.length);
+		else if ((filled + 1) * 4 > table.length * 3)
+			rebuild(keys.length);
+
+		int[] table = this.table;
+		int mask = table.length - 1, slot = hash(key) & mask;
+		while (table[slot] > 0)
+			slot = (slot + 1) & mask;
+		if (table[slot] == EMPTY)
+			++filled;
+		keys[end] = key;
+		table[slot] = ++end;
+		++size;
+		return true;
+	}
+
+	public boolean remove(long key) {
+
+		int slot = find(key);
+		if (slot < 0)
+			return false;
+		--size;
+		dead[table[slot] - 1] = true;
+		table[slot] = REMOVED;
+		return true;
+	}
+
+	public void clear() {
+
+		if (end == 0)
+			return;
+		Arrays.fill(dead, 0, end, false);
+		Arrays.fill(table, EMPTY);
+		end = size = filled = 0;
+	}
+
+	/**
+	 * Squeezes out removed keys, keeping their order, and rebuilds the table for {@code capacity} keys.
+	 */
+	private void rebuild(int capacity) {
+
+		long[] oldKeys = keys;
+		boolean[] oldDead = dead;
+		long[] keys = capacity == oldKeys.length ? oldKeys : new long[capacity];
+		int n = 0;
+		for (int i = 0; i < end; ++i)
+			if (!oldDead[i])
+				keys[n++] = oldKeys[i];
+		this.keys = keys;
+		dead = new boolean[capacity];
+		int[] table = this.table = new int[tableSize(capacity)];
+		int mask = table.length - 1;
+		for (int i = 0; i < n; ++i) {
+			int slot = hash(keys[i]) & mask;
+			while (table[slot] != EMPTY)
+				slot = (slot + 1) & mask;
+			table[slot] = i + 1;
+		}
+		end = filled = n;
+	}
+
+	public int size() {
+
+		return size;
+	}
+
+	public boolean isEmpty() {
+
+		return size == 0;
+	}
+
+	/**
+	 * @return One past the last index that may hold a key.
+	 */
+	public int end() {
+
+		return end;
+	}
+
+	public boolean isLive(int i) {
+
+		return !dead[i];
+	}
+
+	public long get(int i) {
+
+		return keys[i];
+	}
+}
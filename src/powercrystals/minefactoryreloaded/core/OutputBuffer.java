@@ -0,0 +1,164 @@
+package powercrystals.minefactoryreloaded.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraftforge.common.util.ForgeDirection;
+
+/**
+ * Output a machine could not place, held as one count per distinct item instead of as stacks or item entities.
+ * <p>
+ * The owner offers everything in the buffer to its neighbours at once with {@link #flush}, on its own schedule, and
+ * only needs to stop working when {@link #isFull()}.
+ */
+public class OutputBuffer {
+
+	private static int capacity = 0;
+
+	public static void configure(int bufferSize) {
+
+		capacity = Math.max(bufferSize, 0);
+	}
+
+	public static boolean isEnabled() {
+
+		return capacity > 0;
+	}
+
+	public static int getCapacity() {
+
+		return capacity;
+	}
+
+	// parallel; items are kept with a stack size of 1
+	private final ArrayList<ItemStack> items = new ArrayList<ItemStack>(4);
+	private int[] counts = new int[4];
+	private int total;
+
+	public int getTotal() {
+
+		return total;
+	}
+
+	public boolean isEmpty() {
+
+		return total == 0;
+	}
+
+	public boolean isFull() {
+
+		return total >= capacity;
+	}
+
+	public void add(ItemStack stack) {
+
+		if (stack == null || stack.stackSize <= 0 || stack.getItem() == null)
+			return;
+
+		total += stack.stackSize;
+		for (int i = 0, e = items.size(); i < e; ++i)
+			if (UtilInventory.stacksEqual(items.get(i), stack)) {
+				counts[i] += stack.stackSize;
+				return;
+			}
+
+		int i = items.size();
+		if (i == counts.length) {
+			int[] n = new int[i * 2];
+			System.arraycopy(counts, 0, n, 0, i);
+			counts = n;
+		}
+		ItemStack item = stack.copy();
+		item.stackSize = 1;
+		items.add(item);
+		counts[i] = stack.stackSize;
+	}
+
+	/**
+	 * Offers everything held to the owner's drop targets, a full stack at a time, stopping on each item at the first
+	 * stack that is not completely taken.
+	 *
+	 * @return True if anything left the buffer.
+	 */
+	public boolean flush(TileEntity owner, ForgeDirection[] dropdirections, ForgeDirection airdropdirection) {
+
+		int start = total;
+		for (int i = items.size(); i-- > 0;) {
+			ItemStack item = items.get(i);
+			int max = Math.max(1, item.getMaxStackSize());
+			while (counts[i] > 0) {
+				ItemStack stack = item.copy();
+				stack.stackSize = Math.min(counts[i], max);
+				ItemStack rest = UtilInventory.dropStack(owner, stack, dropdirections, airdropdirection);
+				int placed = stack.stackSize - (rest == null ? 0 : Math.max(rest.stackSize, 0));
+				counts[i] -= placed;
+				total -= placed;
+				if (placed < stack.stackSize)
+					break;
+			}
+			if (counts[i] == 0)
+				removeEntry(i);
+		}
+		return total != start;
+	}
+
+	/**
+	 * Empties the buffer into {@code out} as normal stacks.
+	 */
+	public void drainTo(List<ItemStack> out) {
+
+		for (int i = 0, e = items.size(); i < e; ++i) {
+			ItemStack item = items.get(i);
+			int max = Math.max(1, item.getMaxStackSize());
+			for (int count = counts[i]; count > 0;) {
+				ItemStack stack = item.copy();
+				stack.stackSize = Math.min(count, max);
+				count -= stack.stackSize;
+				out.add(stack);
+			}
+		}
+		items.clear();
+		total = 0;
+	}
+
+	private void removeEntry(int i) {
+
+		int last = items.size() - 1;
+		items.set(i, items.get(last));
+		counts[i] = counts[last];
+		items.remove(last);
+		counts[last] = 0;
+	}
+
+	public NBTTagList writeToNBT() {
+
+		NBTTagList list = new NBTTagList();
+		for (int i = 0, e = items.size(); i < e; ++i) {
+			NBTTagCompound tag = new NBTTagCompound();
+			items.get(i).writeToNBT(tag);
+			// ItemStack only saves a byte
+			tag.setInteger("Total", counts[i]);
+			list.appendTag(tag);
+		}
+		return list;
+	}
+
+	public void readFromNBT(NBTTagList list) {
+
+		items.clear();
+		total = 0;
+		for (int i = 0, e = list.tagCount(); i < e; ++i) {
+			NBTTagCompound tag = list.getCompoundTagAt(i);
+			ItemStack item = ItemStack.loadItemStackFromNBT(tag);
+			int count = tag.getInteger("Total");
+			if (item != null && count > 0) {
+				item.stackSize = count;
+				add(item);
+			}
+		}
+	}
+}
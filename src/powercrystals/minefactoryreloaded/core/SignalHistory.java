@@ -0,0 +1,228 @@
+package powercrystals.minefactoryreloaded.core;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+/**
+ * A record of how a set of signals changed over time, kept as runs: each run is the change from the value before it
+ * and the number of ticks it held for. A signal that holds still costs nothing, and only the most recent
+ * {@link #getCapacity()} runs of each signal are kept.
+ * <p>
+ * Queries summarise a window of time as buckets of equal width, each with the lowest, highest and time-weighted
+ * average value seen in it.
+ */
+public class SignalHistory {
+
+	private final Track[] tracks;
+	private final int capacity;
+
+	public SignalHistory(int signals, int capacity) {
+
+		this.capacity = Math.max(capacity, 1);
+		tracks = new Track[signals];
+		for (int i = 0; i < signals; ++i)
+			tracks[i] = new Track();
+	}
+
+	public int getCapacity() {
+
+		return capacity;
+	}
+
+	/**
+	 * @return The last value recorded for {@code signal}, or 0 if nothing has been.
+	 */
+	public int getValue(int signal) {
+
+		return tracks[signal].value;
+	}
+
+	/**
+	 * Records that {@code signal} is {@code value} as of tick {@code time}. Recording the value a signal already has
+	 * does nothing, and only the last value recorded within a tick is kept.
+	 */
+	public void record(int signal, int value, long time) {
+
+		tracks[signal].record(value, time, capacity);
+	}
+
+	/**
+	 * Summarises {@code signal} over the {@code buckets * width} ticks from {@code from}, up to but not including
+	 * {@code now}; the signal is taken to hold its last value until then.
+	 *
+	 * @return The first bucket with a value; buckets before it are from before anything was recorded, and are left
+	 *         alone. Returns {@code buckets} if none has a value.
+	 */
+	public int query(int signal, long from, long now, int width, int buckets, int[] min, int[] max, int[] avg) {
+
+		return tracks[signal].query(from, now, width, buckets, min, max, avg);
+	}
+
+	public NBTTagList writeToNBT() {
+
+		NBTTagList list = new NBTTagList();
+		for (Track track : tracks) {
+			NBTTagCompound tag = new NBTTagCompound();
+			track.writeToNBT(tag);
+			list.appendTag(tag);
+		}
+		return list;
+	}
+
+	public void readFromNBT(NBTTagList list) {
+
+		for (int i = 0, e = Math.min(list.tagCount(), tracks.length); i < e; ++i)
+			tracks[i].readFromNBT(list.getCompoundTagAt(i), capacity);
+	}
+
+	private static final class Track {
+
+		private static final int[] EMPTY = new int[0];
+
+		// ring buffers, parallel; the newest run has no length yet and the oldest has no delta
+		private int[] deltas = EMPTY;
+		private int[] lengths = EMPTY;
+		private int start;
+		private int count;
+		// the value of the newest run, and the tick it started on
+		private int value;
+		private long since;
+
+		private int slot(int i) {
+
+			i += start;
+			return i < deltas.length ? i : i - deltas.length;
+		}
+
+		void record(int v, long time, int capacity) {
+
+			if (count == 0) {
+				push(0, capacity);
+				value = v;
+				since = time;
+				return;
+			}
+			if (v == value)
+				return;
+			if (time <= since) {
+				// changed again within the tick the newest run started on
+				int newest = slot(count - 1);
+				deltas[newest] += v - value;
+				value = v;
+				if (deltas[newest] == 0 && count > 1) {
+					// back to the value before it; that run carries on
+					--count;
+					since -= lengths[slot(count - 1)];
+				}
+				return;
+			}
+			lengths[slot(count - 1)] = (int) Math.min(time - since, Integer.MAX_VALUE);
+			push(v - value, capacity);
+			value = v;
+			since = time;
+		}
+
+		private void push(int delta, int capacity) {
+
+			if (count == deltas.length) {
+				if (count < capacity) {
+					grow(Math.min(Math.max(count * 2, 8), capacity));
+				} else {
+					// forget the oldest run
+					if (++start == deltas.length)
+						start = 0;
+					--count;
+				}
+			}
+			int i = slot(count++);
+			deltas[i] = delta;
+			lengths[i] = 0;
+		}
+
+		private void grow(int size) {
+
+			int[] d = new int[size], l = new int[size];
+			for (int i = 0; i < count; ++i) {
+				d[i] = deltas[slot(i)];
+				l[i] = lengths[slot(i)];
+			}
+			deltas = d;
+			lengths = l;
+			start = 0;
+		}
+
+		int query(long from, long now, int width, int buckets, int[] min, int[] max, int[] avg) {
+
+			long to = Math.min(now, from + (long) buckets * width);
+			if (count == 0 || to <= from)
+				return buckets;
+
+			long[] sums = new long[buckets];
+			int[] ticks = new int[buckets];
+			int first = buckets;
+			int v = value;
+			long end = now, begin = since;
+			// newest first, so that a window of recent history stops early
+			for (int i = count - 1; ; ) {
+				long s = Math.max(begin, from), e = Math.min(end, to);
+				if (s < e) {
+					int b0 = (int) ((s - from) / width), b1 = (int) ((e - 1 - from) / width);
+					for (int b = b0; b <= b1; ++b) {
+						long bs = from + (long) b * width;
+						int t = (int) (Math.min(e, bs + width) - Math.max(s, bs));
+						if (ticks[b] == 0) {
+							min[b] = max[b] = v;
+						} else {
+							min[b] = Math.min(min[b], v);
+							max[b] = Math.max(max[b], v);
+						}
+						ticks[b] += t;
+						sums[b] += (long) v * t;
+					}
+					first = b0;
+				}
+				if (begin <= from || i == 0)
+					break;
+				v -= deltas[slot(i)];
+				end = begin;
+				begin -= lengths[slot(--i)];
+			}
+
+			for (int b = first; b < buckets; ++b)
+				if (ticks[b] > 0)
+					avg[b] = (int) (sums[b] / ticks[b]);
+			return first;
+		}
+
+		void writeToNBT(NBTTagCompound tag) {
+
+			if (count == 0)
+				return;
+			int[] runs = new int[count * 2];
+			for (int i = 0; i < count; ++i) {
+				runs[i * 2] = deltas[slot(i)];
+				runs[i * 2 + 1] = lengths[slot(i)];
+			}
+			tag.setIntArray("Runs", runs);
+			tag.setInteger("Value", value);
+			tag.setLong("Since", since);
+		}
+
+		void readFromNBT(NBTTagCompound tag, int capacity) {
+
+			int[] runs = tag.getIntArray("Runs");
+			int n = Math.min(runs.length / 2, capacity);
+			int skip = runs.length / 2 - n;
+			deltas = n > 0 ? new int[n] : EMPTY;
+			lengths = n > 0 ? new int[n] : EMPTY;
+			for (int i = 0; i < n; ++i) {
+				deltas[i] = runs[(skip + i) * 2];
+				lengths[i] = runs[(skip + i) * 2 + 1];
+			}
+			start = 0;
+			count = n;
+			value = tag.getInteger("Value");
+			since = tag.getLong("Since");
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package powercrystals.minefactoryreloaded.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import net.minecraft.tileentity.TileEntity;
+
+/**
+ * Optional per-machine and per-grid tick timing, toggled with {@code /mfr profile}.
+ * <p>
+ * Callers check {@link #enabled} before doing anything else, so while profiling is off the only cost is reading that
+ * flag: no timestamps are taken and nothing is allocated. Entries are created lazily on first use in a session and
+ * cached by the caller; {@link Entry#isCurrent()} tells the caller when a reset has made its entry stale.
+ * <p>
+ * Only the server thread may record.
+ */
+public class TickProfiler {
+
+	public static boolean enabled;
+
+	private static final int BUCKETS = 40;
+
+	private static int session;
+	private static HashMap<String, Entry> types = new HashMap<String, Entry>();
+	private static ArrayList<Entry> instances = new ArrayList<Entry>();
+
+	public static void start() {
+
+		enabled = true;
+	}
+
+	public static void stop() {
+
+		enabled = false;
+	}
+
+	public static void reset() {
+
+		++session;
+		types = new HashMap<String, Entry>();
+		instances = new ArrayList<Entry>();
+	}
+
+	/**
+	 * @return The entry for a whole type, for things with no location of their own.
+	 */
+	public static Entry getEntry(String type) {
+
+		Entry entry = types.get(type);
+		if (entry == null)
+			types.put(type, entry = new Entry(type, null, 0, 0, 0, 0));
+		return entry;
+	}
+
+	/**
+	 * @return A new entry for {@code tile} that also records into the entry for its type.
+	 */
+	public static Entry getEntry(TileEntity tile, String type) {
+
+		Entry entry = new Entry(type, getEntry(type), tile.getWorldObj().provider.dimensionId,
+			tile.xCoord, tile.yCoord, tile.zCoord);
+		instances.add(entry);
+		return entry;
+	}
+
+	public static List<Entry> getTopTypes(int count) {
+
+		return top(types.values(), count);
+	}
+
+	public static List<Entry> getTopInstances(int count) {
+
+		return top(instances, count);
+	}
+
+	private static List<Entry> top(Collection<Entry> entries, int count) {
+
+		ArrayList<Entry> list = new ArrayList<Entry>(entries);
+		Collections.sort(list, MOST_TIME_FIRST);
+		return list.size() > count ? list.subList(0, count) : list;
+	}
+
+	private static final Comparator<Entry> MOST_TIME_FIRST = new Comparator<Entry>() {
+
+		@Override
+		public int compare(Entry a, Entry b) {
+
+			long x = a.nanos, y = b.nanos;
+			return x > y ? -1 : (x == y ? 0 : 1);
+		}
+	};
+
+	public static final class Entry {
+
+		public final String type;
+		public final int dimension, x, y, z;
+		private final Entry parent;
+		private final int session;
+
+		private long ticks, nanos, maxNanos, activations, idleTicks;
+		// buckets[i] counts ticks that took [2^i, 2^(i+1)) ns
+		private final int[] buckets = new int[BUCKETS];
+
+		private Entry(String type, Entry parent, int dimension, int x, int y, int z) {
+
+			this.type = type;
+			this.parent = parent;
+			this.dimension = dimension;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.session = TickProfiler.session;
+		}
+
+		public boolean isCurrent() {
+
+			return session == TickProfiler.session;
+		}
+
+		public boolean hasLocation() {
+
+			return parent != null;
+		}
+
+		/**
+		 * @param activations
+		 *            The work done this tick; a tick with none counts as idle.
+		 */
+		public void record(long time, int activations) {
+
+			++ticks;
+			nanos += time;
+			if (time > maxNanos)
+				maxNanos = time;
+			this.activations += activations;
+			if (activations == 0)
+				++idleTicks;
+			++buckets[Math.min(63 - Long.numberOfLeadingZeros(time | 1), BUCKETS - 1)];
+			if (parent != null)
+				parent.record(time, activations);
+		}
+
+		public long getTicks() {
+
+			return ticks;
+		}
+
+		public long getTotalNanos() {
+
+			return nanos;
+		}
+
+		public long getMaxNanos() {
+
+			return maxNanos;
+		}
+
+		public long getAverageNanos() {
+
+			return ticks == 0 ? 0 : nanos / ticks;
+		}
+
+		public long getActivations() {
+
+			return activations;
+		}
+
+		public float getIdleRatio() {
+
+			return ticks == 0 ? 0 : (float) idleTicks / ticks;
+		}
+
+		/**
+		 * @return An upper bound on the time taken by the given fraction of ticks, from the histogram.
+		 */
+		public long getPercentileNanos(float fraction) {
+
+			long target = (long) Math.ceil(ticks * fraction), seen = 0;
+			for (int i = 0; i < BUCKETS; ++i) {
+				seen += buckets[i];
+				if (seen >= target)
+					return Math.min(1L << (i + 1), maxNanos);
+			}
+			return maxNanos;
+		}
+	}
+}
@@ -25,6 +25,8 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
+import powercrystals.minefactoryreloaded.tile.base.TileEntityFactory;
+
 public abstract class UtilInventory
 {
 	/**
@@ -130,28 +132,37 @@ public abstract class UtilInventory
 
 	private static IInventory checkForDoubleChest(World world, TileEntity te, BlockPosition chestloc)
 	{
-		Block block = world.getBlock(chestloc.x, chestloc.y, chestloc.z);
-		if (block == Blocks.chest)
+		return pairChest(te, findChestPartner(world, chestloc.x, chestloc.y, chestloc.z));
+	}
+
+	static IInventory pairChest(TileEntity te, TileEntity partner)
+	{
+		if (partner instanceof IInventory)
 		{
-			for (BlockPosition bp : chestloc.getAdjacent(false))
-			{
-				if (world.getBlock(bp.x, bp.y, bp.z) == Blocks.chest)
-				{
-					return new InventoryLargeChest("", ((IInventory)te), ((IInventory)world.getTileEntity(bp.x, bp.y, bp.z)));
-				}
-			}
+			return new InventoryLargeChest("", ((IInventory)te), ((IInventory)partner));
 		}
-		else if (block == Blocks.trapped_chest)
+		return ((IInventory)te);
+	}
+
+	/**
+	 * @return The other half of the vanilla double chest at x, y, z, or null if it isn't one.
+	 */
+	static TileEntity findChestPartner(World world, int x, int y, int z)
+	{
+		Block block = world.getBlock(x, y, z);
+		if (block != Blocks.chest && block != Blocks.trapped_chest)
+		{
+			return null;
+		}
+		for (int i = 2; i < 6; ++i)
 		{
-			for (BlockPosition bp : chestloc.getAdjacent(false))
+			ForgeDirection d = ForgeDirection.VALID_DIRECTIONS[i];
+			if (world.getBlock(x + d.offsetX, y, z + d.offsetZ) == block)
 			{
-				if (world.getBlock(bp.x, bp.y, bp.z) == Blocks.trapped_chest)
-				{
-					return new InventoryLargeChest("", ((IInventory)te), ((IInventory)world.getTileEntity(bp.x, bp.y, bp.z)));
-				}
+				return world.getTileEntity(x + d.offsetX, y, z + d.offsetZ);
 			}
 		}
-		return ((IInventory)te);
+		return null;
 	}
 
 	/**
@@ -162,8 +173,7 @@ public abstract class UtilInventory
 	 */
 	public static ItemStack dropStack(TileEntity from, ItemStack stack)
 	{
-		return dropStack(from.getWorldObj(), new BlockPosition(from.xCoord, from.yCoord, from.zCoord),
-				stack, ForgeDirection.VALID_DIRECTIONS, ForgeDirection.UNKNOWN);
+		return dropStack(from, stack, ForgeDirection.VALID_DIRECTIONS, ForgeDirection.UNKNOWN);
 	}
 
 	/**
@@ -176,8 +186,7 @@ public abstract class UtilInventory
 	 */
 	public static ItemStack dropStack(TileEntity from, ItemStack stack, ForgeDirection airdropdirection)
 	{
-		return dropStack(from.getWorldObj(), new BlockPosition(from.xCoord, from.yCoord, from.zCoord),
-				stack, ForgeDirection.VALID_DIRECTIONS, airdropdirection);
+		return dropStack(from, stack, ForgeDirection.VALID_DIRECTIONS, airdropdirection);
 	}
 
 	/**
@@ -193,9 +202,7 @@ public abstract class UtilInventory
 	public static ItemStack dropStack(TileEntity from, ItemStack stack, ForgeDirection dropdirection,
 			ForgeDirection airdropdirection)
 	{
-		ForgeDirection[] dropdirections = { dropdirection };
-		return dropStack(from.getWorldObj(), new BlockPosition(from.xCoord, from.yCoord, from.zCoord),
-				stack, dropdirections, airdropdirection);
+		return dropStack(from, stack, singleDirections[dropdirection.ordinal()], airdropdirection);
 	}
 
 	/**
@@ -216,6 +223,10 @@ public abstract class UtilInventory
 	public static ItemStack dropStack(TileEntity from, ItemStack stack, ForgeDirection[] dropdirections,
 			ForgeDirection airdropdirection)
 	{
+		if (from instanceof TileEntityFactory)
+		{
+			return ((TileEntityFactory)from).getDropTargets().dropStack(stack, dropdirections, airdropdirection);
+		}
 		return dropStack(from.getWorldObj(), new BlockPosition(from.xCoord, from.yCoord, from.zCoord),
 				stack, dropdirections, airdropdirection);
 	}
@@ -295,21 +306,35 @@ public abstract class UtilInventory
 		return block.getCollisionBoundingBoxFromPool(world, x, y, z) == null;
 	}
 
-	@SuppressWarnings("deprecation")
 	private static ItemStack handleIPipeTile(World world, BlockPosition bp, ForgeDirection[] dropdirections, ItemStack stack)
 	{
 		for (Entry<ForgeDirection, IPipeTile> pipe : findPipes(world, bp.x, bp.y, bp.z, dropdirections).entrySet())
 		{
-			ForgeDirection from = pipe.getKey().getOpposite();
-			if (pipe.getValue().isPipeConnected(from))
+			stack = injectIntoPipe(pipe.getValue(), pipe.getKey().getOpposite(), stack);
+			if (stack == null)
 			{
-				if (pipe.getValue().injectItem(stack.copy(), false, from) > 0)
+				return null;
+			}
+		}
+		return stack;
+	}
+
+	/**
+	 * @param pipe
+	 *            an IPipeTile; only call this if {@link #handlePipeTiles} is set
+	 */
+	@SuppressWarnings("deprecation")
+	static ItemStack injectIntoPipe(Object pipe, ForgeDirection from, ItemStack stack)
+	{
+		IPipeTile tile = (IPipeTile)pipe;
+		if (tile.isPipeConnected(from))
+		{
+			if (tile.injectItem(stack.copy(), false, from) > 0)
+			{
+				stack.stackSize -= tile.injectItem(stack.copy(), true, from);
+				if (stack.stackSize <= 0)
 				{
-					stack.stackSize -= pipe.getValue().injectItem(stack.copy(), true, from);
-					if (stack.stackSize <= 0)
-					{
-						return null;
-					}
+					return null;
 				}
 			}
 		}
@@ -433,7 +458,16 @@ public abstract class UtilInventory
 		return s1.getTagCompound().equals(s2.getTagCompound());
 	}
 
-	private static boolean handlePipeTiles = false;
+	// dropStack(from, stack, dropdirection, airdropdirection) would otherwise allocate an array per call
+	private static final ForgeDirection[][] singleDirections = new ForgeDirection[ForgeDirection.VALID_DIRECTIONS.length + 1][];
+	static {
+		for (ForgeDirection d : ForgeDirection.values())
+		{
+			singleDirections[d.ordinal()] = new ForgeDirection[] { d };
+		}
+	}
+
+	static boolean handlePipeTiles = false;
 	private static final String pipeClass = "buildcraft.api.transport.IPipeTile";
 	static {
 		try {
@@ -346,7 +346,7 @@ public class ItemSafariNet extends ItemFactory {
 		}
 		if (!isEmpty(itemstack)) {
 			return false;
-		} else if (MFRRegistry.getSafariNetBlacklist().contains(entity.getClass())) {
+		} else if (MFRRegistry.getEntityClassInfo(entity.getClass()).safariNetBlacklisted) {
 			return false;
 		}
 		else if (!(entity instanceof EntityPlayer)) {
@@ -0,0 +1,86 @@
+package powercrystals.minefactoryreloaded.net;
+
+import java.util.List;
+import java.util.Locale;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.util.ChatComponentText;
+
+import powercrystals.minefactoryreloaded.core.TickProfiler;
+import powercrystals.minefactoryreloaded.core.TickProfiler.Entry;
+
+public class CommandMFR extends CommandBase {
+
+	private static final int DEFAULT_COUNT = 10;
+
+	@Override
+	public String getCommandName() {
+
+		return "mfr";
+	}
+
+	@Override
+	public String getCommandUsage(ICommandSender sender) {
+
+		return "/mfr profile <start|stop|reset|top|types> [count]";
+	}
+
+	@Override
+	public int getRequiredPermissionLevel() {
+
+		return 2;
+	}
+
+	@Override
+	public void processCommand(ICommandSender sender, String[] args) {
+
+		if (args.length < 2 || !"profile".equals(args[0]))
+			throw new WrongUsageException(getCommandUsage(sender));
+
+		String action = args[1];
+		if ("start".equals(action)) {
+			TickProfiler.start();
+			sender.addChatMessage(new ChatComponentText("MFR profiling started"));
+		} else if ("stop".equals(action)) {
+			TickProfiler.stop();
+			sender.addChatMessage(new ChatComponentText("MFR profiling stopped"));
+		} else if ("reset".equals(action)) {
+			TickProfiler.reset();
+			sender.addChatMessage(new ChatComponentText("MFR profiling data cleared"));
+		} else if ("top".equals(action) || "types".equals(action)) {
+			int count = args.length > 2 ? parseIntBounded(sender, args[2], 1, 100) : DEFAULT_COUNT;
+			List<Entry> entries = "top".equals(action) ?
+					TickProfiler.getTopInstances(count) : TickProfiler.getTopTypes(count);
+			if (entries.isEmpty())
+				sender.addChatMessage(new ChatComponentText("No profiling data"));
+			for (Entry entry : entries)
+				sender.addChatMessage(new ChatComponentText(describe(entry)));
+		} else
+			throw new WrongUsageException(getCommandUsage(sender));
+	}
+
+	private static String describe(Entry entry) {
+
+		StringBuilder b = new StringBuilder(entry.type);
+		if (entry.hasLocation())
+			b.append(" @ ").append(entry.dimension).append(": ").
+					append(entry.x).append(", ").append(entry.y).append(", ").append(entry.z);
+		b.append(String.format(Locale.ROOT, " - %.2fms total, %.1fus avg, %.1fus p99, %.1fus max, %d activations, %.0f%% idle",
+			entry.getTotalNanos() / 1e6, entry.getAverageNanos() / 1e3, entry.getPercentileNanos(0.99f) / 1e3,
+			entry.getMaxNanos() / 1e3, entry.getActivations(), entry.getIdleRatio() * 100));
+		return b.toString();
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+
+		if (args.length == 1)
+			return getListOfStringsMatchingLastWord(args, "profile");
+		if (args.length == 2 && "profile".equals(args[0]))
+			return getListOfStringsMatchingLastWord(args, "start", "stop", "reset", "top", "types");
+		return null;
+	}
+}
@@ -23,6 +23,8 @@ import net.minecraftforge.common.ForgeChunkManager.LoadingCallback;
 import net.minecraftforge.common.ForgeChunkManager.Ticket;
 
 import powercrystals.minefactoryreloaded.MineFactoryReloadedCore;
+import powercrystals.minefactoryreloaded.core.OutputBuffer;
+import powercrystals.minefactoryreloaded.setup.MFRConfig;
 import powercrystals.minefactoryreloaded.tile.machine.TileEntityChunkLoader;
 
 public class CommonProxy implements LoadingCallback
@@ -61,9 +63,16 @@ public class CommonProxy implements LoadingCallback
 
 	public void init()
 	{
+		GridTickHandler.configure(MFRConfig.gridRegenerationBudget.getInt(), MFRConfig.gridDormantDelay.getInt());
 		FMLCommonHandler.instance().bus().register(GridTickHandler.energy);
 		FMLCommonHandler.instance().bus().register(GridTickHandler.redstone);
 		FMLCommonHandler.instance().bus().register(GridTickHandler.fluid);
+		MachineScheduler.configure(MFRConfig.machineIdleSleep.getBoolean(true));
+		FMLCommonHandler.instance().bus().register(MachineScheduler.instance);
+		OutputBuffer.configure(MFRConfig.machineOutputBuffer.getInt());
+		ConveyorLaneTicker.configure(MFRConfig.conveyorVirtualLanes.getBoolean(false));
+		FMLCommonHandler.instance().bus().register(ConveyorLaneTicker.instance);
+		FMLCommonHandler.instance().bus().register(RedNetUpdateQueue.instance);
 		FMLCommonHandler.instance().bus().register(new ConnectionHandler());
 		ForgeChunkManager.setForcedChunkLoadingCallback(MineFactoryReloadedCore.instance(), this);
 	}
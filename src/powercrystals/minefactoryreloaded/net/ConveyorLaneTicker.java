@@ -0,0 +1,80 @@
+package powercrystals.minefactoryreloaded.net;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
+
+import java.util.ArrayList;
+
+import powercrystals.minefactoryreloaded.tile.transport.TileEntityConveyor;
+
+/**
+ * Moves the items held in virtual conveyor lanes (see {@link TileEntityConveyor#captureItem}).
+ * <p>
+ * Conveyors do not tick on their own; one is only visited here while its lane holds items, and queues itself again
+ * for the next tick if any are left.
+ */
+public class ConveyorLaneTicker {
+
+	public static final ConveyorLaneTicker instance = new ConveyorLaneTicker();
+
+	private static boolean enabled = false;
+
+	public static void configure(boolean virtualLanes) {
+
+		enabled = virtualLanes;
+	}
+
+	public static boolean isEnabled() {
+
+		return enabled;
+	}
+
+	private ArrayList<TileEntityConveyor> queued = new ArrayList<TileEntityConveyor>();
+	private ArrayList<TileEntityConveyor> ticking = new ArrayList<TileEntityConveyor>();
+	private int tick;
+
+	private ConveyorLaneTicker() {
+
+	}
+
+	/**
+	 * @return The ticker's tick count, used to keep items that change lanes from moving twice in one tick.
+	 */
+	public int getTick() {
+
+		return tick;
+	}
+
+	/**
+	 * Visits {@code conveyor} on the next tick. Callers must not queue a conveyor that is already queued.
+	 */
+	public void queue(TileEntityConveyor conveyor) {
+
+		queued.add(conveyor);
+	}
+
+	@SubscribeEvent
+	public void tick(ServerTickEvent evt) {
+
+		if (evt.phase != Phase.START)
+			return;
+
+		int now = ++tick;
+		if (queued.isEmpty())
+			return;
+
+		ArrayList<TileEntityConveyor> list = queued;
+		queued = ticking;
+		ticking = list;
+		for (int i = 0, e = list.size(); i < e; ++i)
+			list.get(i).tickLane(now);
+		list.clear();
+	}
+
+	public void clear() {
+
+		queued.clear();
+		ticking.clear();
+	}
+}
@@ -11,7 +11,9 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.item.ItemExpireEvent;
 import net.minecraftforge.event.entity.minecart.MinecartInteractEvent;
+import net.minecraftforge.event.world.WorldEvent;
 
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.item.ItemPortaSpawner;
 import powercrystals.minefactoryreloaded.setup.MFRConfig;
 
@@ -69,4 +71,10 @@ public class EntityHandler {
 		}
 	}
 
+	@SubscribeEvent
+	public void onWorldUnload(WorldEvent.Unload evt) {
+
+		EntityIndex.remove(evt.world);
+	}
+
 }
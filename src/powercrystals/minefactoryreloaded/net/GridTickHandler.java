@@ -5,14 +5,19 @@ import cpw.mods.fml.common.eventhandler.SubscribeEvent;
 import cpw.mods.fml.common.gameevent.TickEvent.Phase;
 import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.ReportedException;
 
 import powercrystals.minefactoryreloaded.core.IGrid;
 import powercrystals.minefactoryreloaded.core.IGridController;
 import powercrystals.minefactoryreloaded.core.INode;
+import powercrystals.minefactoryreloaded.core.TickProfiler;
 import powercrystals.minefactoryreloaded.tile.rednet.RedstoneEnergyNetwork;
 import powercrystals.minefactoryreloaded.tile.rednet.RedstoneNetwork;
 import powercrystals.minefactoryreloaded.tile.rednet.TileEntityRedNetCable;
@@ -29,6 +34,27 @@ public class GridTickHandler<G extends IGrid, N extends INode> implements IGridC
 	public static final GridTickHandler<FluidNetwork, TileEntityPlasticPipe> fluid =
 			new GridTickHandler<FluidNetwork, TileEntityPlasticPipe>("Fluid");
 
+	private static final Comparator<IGrid> SMALLEST_FIRST = new Comparator<IGrid>() {
+
+		@Override
+		public int compare(IGrid a, IGrid b) {
+
+			int x = a.getConduitCount(), y = b.getConduitCount();
+			return x < y ? -1 : (x == y ? 0 : 1);
+		}
+	};
+
+	private static long regenBudget = 5000000L;
+	private static int regenTick = -1;
+	private static long regenDeadline;
+	private static int dormantDelay = 20;
+
+	public static void configure(int regenerationBudget, int dormancyDelay) {
+
+		regenBudget = regenerationBudget * 1000000L;
+		dormantDelay = dormancyDelay;
+	}
+
 	private LinkedHashSet<G> tickingGridsToRegenerate = new LinkedHashSet<G>();
 	private LinkedHashSet<G> tickingGridsToAdd = new LinkedHashSet<G>();
 	private LinkedHashSet<G> tickingGrids = new LinkedHashSet<G>();
@@ -38,7 +64,10 @@ public class GridTickHandler<G extends IGrid, N extends INode> implements IGridC
 	private LinkedHashSet<N> conduitToAdd = new LinkedHashSet<N>();
 	private LinkedHashSet<N> conduitToUpd = new LinkedHashSet<N>();
 
+	private ArrayList<G> regenQueue = new ArrayList<G>();
+
 	private final String label;
+	private TickProfiler.Entry startProfile, endProfile;
 
 	public GridTickHandler(String name) {
 
@@ -79,34 +108,80 @@ public class GridTickHandler<G extends IGrid, N extends INode> implements IGridC
 		conduitToUpd.add(node);
 	}
 
+	/**
+	 * @return The number of ticks a grid must go without moving anything before it stops ticking; 0 if grids never go
+	 *         dormant.
+	 */
+	public static int getDormantDelay() {
+
+		return dormantDelay;
+	}
+
+	/**
+	 * The regeneration budget is shared by every handler, starting from whichever runs first in a tick.
+	 */
+	private static long getRegenDeadline() {
+
+		int tick = MinecraftServer.getServer().getTickCounter();
+		if (tick != regenTick) {
+			regenTick = tick;
+			regenDeadline = System.nanoTime() + regenBudget;
+		}
+		return regenDeadline;
+	}
+
 	@SubscribeEvent
 	public void tick(ServerTickEvent evt) {
 
 		// TODO: this needs split up into groups per-world when worlds are threaded
-		if (evt.phase == Phase.START)
+		if (!TickProfiler.enabled) {
+			if (evt.phase == Phase.START)
+				tickStart();
+			else
+				tickEnd();
+			return;
+		}
+
+		long start = System.nanoTime();
+		if (evt.phase == Phase.START) {
 			tickStart();
-		else
+			if (startProfile == null || !startProfile.isCurrent())
+				startProfile = TickProfiler.getEntry(label + ".tickStart");
+			startProfile.record(System.nanoTime() - start, tickingGrids.size());
+		} else {
 			tickEnd();
+			if (endProfile == null || !endProfile.isCurrent())
+				endProfile = TickProfiler.getEntry(label + ".tickEnd");
+			endProfile.record(System.nanoTime() - start, tickingGrids.size());
+		}
 	}
 
 	public void tickStart() {
 
 		//{ Grids that have had significant conduits removed and need to rebuild/split
-		if (!tickingGridsToRegenerate.isEmpty())
-			synchronized (tickingGridsToRegenerate) {
-				for (G grid : tickingGridsToRegenerate)
-					grid.markSweep();
-				tickingGridsToRegenerate.clear();
+		// smallest first, so a single huge grid can't hold up every other grid waiting behind it
+		if (!tickingGridsToRegenerate.isEmpty()) {
+			ArrayList<G> queue = regenQueue;
+			queue.addAll(tickingGridsToRegenerate);
+			Collections.sort(queue, SMALLEST_FIRST);
+			long deadline = getRegenDeadline();
+			for (int i = 0, e = queue.size(); i < e; ++i) {
+				G grid = queue.get(i);
+				if (grid.markSweep(deadline))
+					tickingGridsToRegenerate.remove(grid);
+				else
+					break;
 			}
+			queue.clear();
+		}
 		//}
 
 		//{ Updating internal types of conduits
 		// this pass is needed to handle issues with threading
-		if (!conduitToUpd.isEmpty())
-			synchronized (conduitToUpd) {
-				conduit.addAll(conduitToUpd);
-				conduitToUpd.clear();
-			}
+		if (!conduitToUpd.isEmpty()) {
+			conduit.addAll(conduitToUpd);
+			conduitToUpd.clear();
+		}
 
 		if (!conduit.isEmpty()) {
 			N cond = null;
@@ -139,17 +214,15 @@ public class GridTickHandler<G extends IGrid, N extends INode> implements IGridC
 	public void tickEnd() {
 
 		//{ Changes in what grids are being ticked
-		if (!tickingGridsToRemove.isEmpty())
-			synchronized (tickingGridsToRemove) {
-				tickingGrids.removeAll(tickingGridsToRemove);
-				tickingGridsToRemove.clear();
-			}
+		if (!tickingGridsToRemove.isEmpty()) {
+			tickingGrids.removeAll(tickingGridsToRemove);
+			tickingGridsToRemove.clear();
+		}
 
-		if (!tickingGridsToAdd.isEmpty())
-			synchronized (tickingGridsToAdd) {
-				tickingGrids.addAll(tickingGridsToAdd);
-				tickingGridsToAdd.clear();
-			}
+		if (!tickingGridsToAdd.isEmpty()) {
+			tickingGrids.addAll(tickingGridsToAdd);
+			tickingGridsToAdd.clear();
+		}
 		//}
 
 		//{ Ticking grids to transfer energy/etc.
@@ -159,11 +232,10 @@ public class GridTickHandler<G extends IGrid, N extends INode> implements IGridC
 		//}
 
 		//{ Initial update tick for conduits added to the world
-		if (!conduitToAdd.isEmpty())
-			synchronized (conduitToAdd) {
-				conduit.addAll(conduitToAdd);
-				conduitToAdd.clear();
-			}
+		if (!conduitToAdd.isEmpty()) {
+			conduit.addAll(conduitToAdd);
+			conduitToAdd.clear();
+		}
 
 		if (!conduit.isEmpty()) {
 			N cond = null;
@@ -192,5 +264,4 @@ public class GridTickHandler<G extends IGrid, N extends INode> implements IGridC
 
 		return label + "@" + hashCode();
 	}
-
 }
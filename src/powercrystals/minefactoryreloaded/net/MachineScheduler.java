@@ -0,0 +1,91 @@
+package powercrystals.minefactoryreloaded.net;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
+
+import java.util.ArrayList;
+
+import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
+
+/**
+ * Wakes sleeping machines (see {@link TileEntityFactoryPowered#sleep}) when their idle time is up.
+ * <p>
+ * Machines are kept in a timing wheel with one bucket per tick, so each tick only looks at the machines due then.
+ * Nothing is ever removed from a bucket early; a machine that was woken or rescheduled in the meantime ignores its
+ * old wake-up.
+ */
+public class MachineScheduler {
+
+	public static final MachineScheduler instance = new MachineScheduler();
+
+	/**
+	 * The longest a machine will sleep without anything waking it, and the length of the wheel.
+	 */
+	public static final int MAX_SLEEP = 256;
+	private static final int MASK = MAX_SLEEP - 1;
+
+	private static boolean enabled = true;
+
+	public static void configure(boolean idleSleep) {
+
+		enabled = idleSleep;
+	}
+
+	public static boolean isEnabled() {
+
+		return enabled;
+	}
+
+	@SuppressWarnings("unchecked")
+	private ArrayList<TileEntityFactoryPowered>[] buckets = new ArrayList[MAX_SLEEP];
+	private int tick;
+
+	private MachineScheduler() {
+
+		for (int i = 0; i < MAX_SLEEP; ++i)
+			buckets[i] = new ArrayList<TileEntityFactoryPowered>();
+	}
+
+	/**
+	 * @return The scheduler's tick count, which wake-up times are measured in.
+	 */
+	public int getTick() {
+
+		return tick;
+	}
+
+	/**
+	 * Queues {@code machine} to be woken at {@code wakeTick}, which must be after the current tick and no more than
+	 * {@link #MAX_SLEEP} ticks away.
+	 */
+	public void schedule(TileEntityFactoryPowered machine, int wakeTick) {
+
+		buckets[wakeTick & MASK].add(machine);
+	}
+
+	@SubscribeEvent
+	public void tick(ServerTickEvent evt) {
+
+		if (evt.phase != Phase.START)
+			return;
+
+		int now = ++tick;
+		ArrayList<TileEntityFactoryPowered> due = buckets[now & MASK];
+		if (due.isEmpty())
+			return;
+
+		for (int i = 0, e = due.size(); i < e; ++i) {
+			TileEntityFactoryPowered machine = due.get(i);
+			if (!machine.isInvalid())
+				machine.onScheduledWake(now);
+		}
+		due.clear();
+	}
+
+	public void clear() {
+
+		for (ArrayList<TileEntityFactoryPowered> bucket : buckets)
+			bucket.clear();
+	}
+}
@@ -0,0 +1,66 @@
+package powercrystals.minefactoryreloaded.net;
+
+import cpw.mods.fml.common.eventhandler.EventPriority;
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent.Phase;
+import cpw.mods.fml.common.gameevent.TickEvent.ServerTickEvent;
+
+import java.util.ArrayList;
+
+import powercrystals.minefactoryreloaded.tile.rednet.TileEntityRedNetLogic;
+
+/**
+ * Holds back the output changes of RedNet logic controllers until every world has ticked, then passes each
+ * controller's changed sides on to its neighbours once.
+ * <p>
+ * Delivery tells networks and nodes straight away: a network takes the change in on its next update, but an
+ * {@link powercrystals.minefactoryreloaded.api.rednet.IRedNetInputNode} next to a controller has onInputsChanged or
+ * onInputChanged called during delivery, and machines act on that at once. Another controller only marks its inputs
+ * changed and evaluates on its next tick, so what a controller sees does not depend on the order controllers ticked
+ * or are delivered in. This runs ahead of the end-of-tick network update, so that networks take in the changes from
+ * this tick in that update.
+ * <p>
+ * This means every hop from one controller to another, directly or over a network, takes exactly one tick. Before,
+ * a controller that ticked after the one feeding it could see the new value in the same tick; circuits built on
+ * that will now run a tick behind for each hop.
+ */
+public class RedNetUpdateQueue {
+
+	public static final RedNetUpdateQueue instance = new RedNetUpdateQueue();
+
+	private ArrayList<TileEntityRedNetLogic> queued = new ArrayList<TileEntityRedNetLogic>();
+	private ArrayList<TileEntityRedNetLogic> delivering = new ArrayList<TileEntityRedNetLogic>();
+
+	private RedNetUpdateQueue() {
+
+	}
+
+	/**
+	 * Delivers {@code logic}'s outputs at the end of this tick. Callers must not queue a controller that is already
+	 * queued.
+	 */
+	public void queue(TileEntityRedNetLogic logic) {
+
+		queued.add(logic);
+	}
+
+	@SubscribeEvent(priority = EventPriority.HIGH)
+	public void tick(ServerTickEvent evt) {
+
+		if (evt.phase != Phase.END || queued.isEmpty())
+			return;
+
+		ArrayList<TileEntityRedNetLogic> list = queued;
+		queued = delivering;
+		delivering = list;
+		for (int i = 0, e = list.size(); i < e; ++i)
+			list.get(i).deliverOutputs();
+		list.clear();
+	}
+
+	public void clear() {
+
+		queued.clear();
+		delivering.clear();
+	}
+}
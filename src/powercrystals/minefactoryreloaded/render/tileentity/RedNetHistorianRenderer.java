@@ -74,57 +74,47 @@ public class RedNetHistorianRenderer extends TileEntitySpecialRenderer implement
 		t.startDrawing(GL11.GL_LINES);
 		GL11.glLineWidth(2.0F);
 		
-		Integer[] values = historian.getValues();
+		int first = historian.getFirstBucket();
+		int[] min = historian.getMinValues();
+		int[] max = historian.getMaxValues();
+		int[] avg = historian.getAverageValues();
 		GL11.glColor4f(1.0F, 1.0F, 1.0F, 1.0F);
 		
 		int yMin = Integer.MAX_VALUE;
 		int yMax = Integer.MIN_VALUE;
 		
-		for(int i = 0; i < values.length; i++)
+		for(int i = first; i < min.length; i++)
 		{
-			Integer v = values[i];
-			if(v == null)
+			if(max[i] > yMax)
 			{
-				continue;
+				yMax = max[i];
 			}
-			if(v > yMax)
+			if(min[i] < yMin)
 			{
-				yMax = v;
-			}
-			if(v < yMin)
-			{
-				yMin = v;
+				yMin = min[i];
 			}
 		}
 		
 		yMax = Math.max(yMax, 15);
 		yMin = Math.min(yMin, 0);
 		
-		Integer lastValue = null;
-		int lastX = 0;
-		for(int i = 1; i < values.length; i++)
+		double scale = (_renderMax - _renderMin) / ((double)yMax - yMin);
+		for(int i = first; i < avg.length; i++)
 		{
-			if(values[i] == null)
+			double x2 = (14.0/16.0)/avg.length * (i) + (1.0/16.0);
+			if(min[i] != max[i])
 			{
-				continue;
+				t.addVertex(x2, (min[i] - (double)yMin) * scale + _renderMin, 0.253);
+				t.addVertex(x2, (max[i] - (double)yMin) * scale + _renderMin, 0.253);
 			}
-			if(lastValue == null)
+			if(i > first)
 			{
-				lastValue = values[i];
-				lastX = i;
-			}
-			else
-			{
-				double x1 = (14.0/16.0)/values.length * lastX + (1.0/16.0);
-				double x2 = (14.0/16.0)/values.length * (i) + (1.0/16.0);
-				double y1 = (values[i - 1] - yMin) * (_renderMax - _renderMin) / (yMax - yMin) + _renderMin;
-				double y2 = (values[i] - yMin) * (_renderMax - _renderMin) / (yMax - yMin) + _renderMin;
+				double x1 = (14.0/16.0)/avg.length * (i - 1) + (1.0/16.0);
+				double y1 = (avg[i - 1] - (double)yMin) * scale + _renderMin;
+				double y2 = (avg[i] - (double)yMin) * scale + _renderMin;
 				
 				t.addVertex(x1, y1, 0.253);
 				t.addVertex(x2, y2, 0.253);
-				
-				lastValue = values[i];
-				lastX = i;
 			}
 		}
 		
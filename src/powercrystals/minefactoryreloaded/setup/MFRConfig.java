@@ -27,6 +27,7 @@ public class MFRConfig {
 	public static Property conveyorCaptureNonItems;
 	public static Property conveyorNeverCapturesPlayers;
 	public static Property conveyorNeverCapturesTCGolems;
+	public static Property conveyorVirtualLanes;
 	public static Property playSounds;
 	public static Property defaultRedNetCableOnly;
 	public static Property fisherNeedsRod;
@@ -73,6 +74,11 @@ public class MFRConfig {
 	public static Property enableConfigurableCLEnergy;
 
 	public static Property redNetDebug;
+	public static Property gridRegenerationBudget;
+	public static Property gridDormantDelay;
+	public static Property gridEnergyDemandWeighted;
+	public static Property machineIdleSleep;
+	public static Property machineOutputBuffer;
 	public static Property redNetConnectionBlacklist;
 
 	public static Property worldGenDimensionBlacklist;
@@ -95,6 +101,7 @@ public class MFRConfig {
 	public static Property rubberTreeRetrogen;
 
 	public static Property unifierBlacklist;
+	public static Property smasherCacheWhitelist;
 	public static Property spawnerBlacklist;
 	public static Property safarinetBlacklist;
 
@@ -184,6 +191,24 @@ public class MFRConfig {
 		defaultRedNetCableOnly.comment = "If true, placed rednet cable will default to cable-only connections.";
 		//}
 
+		//{ Grids
+		category = CATEGORY_GENERAL + ".Grids";
+		gridRegenerationBudget = c.get(category, "RegenerationBudget", 5).setRequiresMcRestart(true).setMinValue(1);
+		gridRegenerationBudget.comment = "The time, in milliseconds, that rebuilding networks after cables or pipes are broken may take each tick. Larger networks finish over several ticks and stay idle until they do.";
+		gridDormantDelay = c.get(category, "DormantDelay", 20).setRequiresMcRestart(true).setMinValue(0);
+		gridDormantDelay.comment = "The number of ticks a RedNet energy or plastic pipe network may go without moving anything before it goes dormant. Dormant networks wake up when something next to them changes or is inserted into them, and otherwise only check for work once every this many ticks. 0 disables dormancy.";
+		gridEnergyDemandWeighted = c.get(category, "EnergyDemandWeighted", false);
+		gridEnergyDemandWeighted.comment = "If true, RedNet energy networks ask every connected machine how much energy it wants and share stored energy in proportion to that, instead of splitting it evenly between all connections. Machines that refuse energy are skipped for a short while before being asked again.";
+		//}
+
+		//{ Machines
+		category = CATEGORY_GENERAL + ".Machines";
+		machineIdleSleep = c.get(category, "IdleSleep", true);
+		machineIdleSleep.comment = "If true, powered machines that are idle or out of energy stop updating until their idle time is up, or until redstone, their inventory or their energy changes.";
+		machineOutputBuffer = c.get(category, "OutputBuffer", 0).setRequiresMcRestart(true).setMinValue(0);
+		machineOutputBuffer.comment = "The number of items a machine can hold on to when nothing next to it will take its output, before it stops working. Held items are offered to its neighbours once a second, and how full the buffer is (0-15) is sent to RedNet cables. 0 makes machines stop as soon as any output is refused.";
+		//}
+
 		//{ Worldgen
 		category = CATEGORY_GENERAL + ".WorldGen";
 		worldGenDimensionBlacklist = c.get(category, "Dimension.Blacklist", new int[] {}).setRequiresMcRestart(true);
@@ -289,6 +314,8 @@ public class MFRConfig {
 			conveyorNeverCapturesPlayers.comment = "If true, conveyors will NEVER capture players regardless of other settings.";
 			conveyorNeverCapturesTCGolems = c.get(category, "NeverCaptureTCGolems", false).setRequiresMcRestart(true);
 			conveyorNeverCapturesTCGolems.comment = "If true, conveyors will NEVER capture ThaumCraft golems regardless of other settings.";
+			conveyorVirtualLanes = c.get(category, "VirtualLanes", false);
+			conveyorVirtualLanes.comment = "If true, items in the middle of straight conveyor runs are carried without item entities while no player is within 64 blocks, and become entities again at the end of the run.";
 
 			category = machine + Machine.ChunkLoader.getName();
 			enableChunkLimitBypassing = c.get(category, "IgnoreChunkLimit", false);
@@ -312,6 +339,8 @@ public class MFRConfig {
 			harvesterSkip = c.get(machine + Machine.Harvester.getName(), "SkipWork", false).setRequiresMcRestart(true);
 			harvesterSkip.comment = "If true, the harvester will skip scanning some bocks when filled with sludge";
 
+			smasherCacheWhitelist = c.get(machine + Machine.BlockSmasher.getName(), "CacheWhitelist", new String[] {}).setRequiresMcRestart(true);
+			smasherCacheWhitelist.comment = "A list of block IDs (e.g., minecraft:stone) whose drops never change, so the Block Smasher can reuse its first result for them instead of breaking them again each time. Blocks not listed are only reused when they draw nothing from the world's random and break the same way several times.";
 			laserdrillCost = c.get(machine + Machine.LaserDrill.getName(), "Work", 300).setRequiresMcRestart(true);
 			laserdrillCost.comment = "The work required by the drill to generate a single ore.";
 
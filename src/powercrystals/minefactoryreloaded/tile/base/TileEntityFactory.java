@@ -23,6 +23,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import powercrystals.minefactoryreloaded.MineFactoryReloadedClient;
+import powercrystals.minefactoryreloaded.core.DropTargetCache;
 import powercrystals.minefactoryreloaded.core.HarvestAreaManager;
 import powercrystals.minefactoryreloaded.core.IHarvestAreaContainer;
 import powercrystals.minefactoryreloaded.core.MFRUtil;
@@ -71,6 +72,7 @@ public abstract class TileEntityFactory extends TileEntityBase
 
 	protected HarvestAreaManager<TileEntityFactory> _areaManager;
 	protected Machine _machine;
+	private DropTargetCache _dropTargets;
 
 	protected String _owner = "";
 
@@ -96,9 +98,41 @@ public abstract class TileEntityFactory extends TileEntityBase
 		if (worldObj != null && worldObj.isRemote && hasHAM()) {
 			MineFactoryReloadedClient.removeTileFromAreaList(this);
 		}
+		if (hasHAM()) {
+			getHAM().untrackCandidates();
+		}
 		super.invalidate();
 	}
 
+	@Override
+	public void onChunkUnload() {
+
+		super.onChunkUnload();
+		if (hasHAM()) {
+			getHAM().untrackCandidates();
+		}
+	}
+
+	@Override
+	public void onNeighborTileChange(int x, int y, int z) {
+
+		if (_dropTargets != null)
+			_dropTargets.invalidate(x, y, z);
+	}
+
+	@Override
+	public void onNeighborBlockChange() {
+
+		if (_dropTargets != null)
+			_dropTargets.invalidate();
+	}
+
+	@Override
+	public void onMatchedNeighborBlockChange() {
+
+		onNeighborBlockChange();
+	}
+
 	/**
 	 * Used to create HarvestAreas for entity-interacting machines.
 	 */
@@ -124,6 +158,8 @@ public abstract class TileEntityFactory extends TileEntityBase
 	protected static void createHAM(TileEntityFactory owner, int harvestRadius, int harvestAreaUp, int harvestAreaDown,
 			float upgradeModifier, boolean usesBlocks) {
 
+		if (owner._areaManager != null)
+			owner._areaManager.untrackCandidates();
 		owner._areaManager = new FactoryAreaManager(owner, harvestRadius, harvestAreaUp, harvestAreaDown,
 				upgradeModifier, usesBlocks);
 	}
@@ -211,6 +247,8 @@ public abstract class TileEntityFactory extends TileEntityBase
 
 	protected void onRotate() {
 
+		if (_dropTargets != null)
+			_dropTargets.invalidate();
 		if (!isInvalid() && worldObj.blockExists(xCoord, yCoord, zCoord)) {
 			markForUpdate();
 			MFRUtil.notifyNearbyBlocks(worldObj, xCoord, yCoord, zCoord, getBlockType());
@@ -235,6 +273,13 @@ public abstract class TileEntityFactory extends TileEntityBase
 		return ForgeDirection.VALID_DIRECTIONS;
 	}
 
+	public DropTargetCache getDropTargets() {
+
+		if (_dropTargets == null)
+			_dropTargets = new DropTargetCache(this);
+		return _dropTargets;
+	}
+
 	public boolean isActive() {
 
 		return _isActive;
@@ -251,6 +296,14 @@ public abstract class TileEntityFactory extends TileEntityBase
 		_isActive = isActive;
 	}
 
+	/**
+	 * @return True if a change in active state has yet to be sent to clients.
+	 */
+	protected boolean isActiveSyncPending() {
+
+		return _prevActive != _isActive;
+	}
+
 	@Override
 	public void updateEntity() {
 
@@ -400,6 +453,15 @@ public abstract class TileEntityFactory extends TileEntityBase
 		return 0;
 	}
 
+	/**
+	 * @return The value sent to RedNet cables on {@code side}. Unlike {@link #getRedNetOutput}, this is not emitted as
+	 *         vanilla redstone.
+	 */
+	public int getRedNetCableOutput(ForgeDirection side) {
+
+		return getRedNetOutput(side);
+	}
+
 	// hoisted IMachine methods
 
 	public void setManageFluids(boolean manageFluids) {
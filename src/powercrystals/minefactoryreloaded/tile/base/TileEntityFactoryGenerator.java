@@ -133,6 +133,7 @@ public abstract class TileEntityFactoryGenerator extends TileEntityFactoryInvent
 
 	@Override
 	public void onNeighborTileChange(int x, int y, int z) {
+		super.onNeighborTileChange(x, y, z);
 		TileEntity tile = worldObj.getTileEntity(x, y, z);
 
 		if (x < xCoord)
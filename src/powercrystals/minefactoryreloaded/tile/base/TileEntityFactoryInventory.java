@@ -21,6 +21,7 @@ import net.minecraftforge.fluids.FluidTankInfo;
 import net.minecraftforge.fluids.IFluidTank;
 
 import powercrystals.minefactoryreloaded.core.MFRLiquidMover;
+import powercrystals.minefactoryreloaded.core.OutputBuffer;
 import powercrystals.minefactoryreloaded.core.UtilInventory;
 import powercrystals.minefactoryreloaded.setup.Machine;
 
@@ -34,6 +35,9 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 	private List<ItemStack> missedDrops = new ArrayList<ItemStack>(5);
 	protected int _failedDropTicksMax = 20;
 	private int _failedDropTicks = 0;
+	protected OutputBuffer _outputBuffer;
+	private int _outputBufferSent;
+	private int _outputBufferTicks;
 
 	protected FluidTankAdv[] _tanks;
 
@@ -45,6 +49,8 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 
 		super(machine);
 		_inventory = new ItemStack[getSizeInventory()];
+		if (OutputBuffer.isEnabled())
+			_outputBuffer = new OutputBuffer();
 		_tanks = createTanks();
 		setManageFluids(_tanks != null);
 	}
@@ -71,6 +77,11 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 
 	public void onDisassembled() {
 
+		if (_outputBuffer != null && !_outputBuffer.isEmpty()) {
+			if (failedDrops == null)
+				failedDrops = new ArrayList<ItemStack>();
+			_outputBuffer.drainTo(failedDrops);
+		}
 		if (failedDrops != null)
 			inv: while (failedDrops.size() > 0) {
 				ItemStack itemstack = failedDrops.remove(0);
@@ -219,10 +230,70 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 			failedDrops = null;
 			markDirty();
 		}
+
+		if (_outputBuffer != null && !worldObj.isRemote) {
+			updateOutputBuffer();
+		}
+	}
+
+	private void updateOutputBuffer() {
+
+		OutputBuffer buffer = _outputBuffer;
+		if (!buffer.isEmpty()) {
+			if (_outputBufferTicks < _failedDropTicksMax) {
+				_outputBufferTicks++;
+			} else {
+				_outputBufferTicks = 0;
+				if (buffer.flush(this, getDropDirections(), getDropDirection()))
+					markDirty();
+			}
+		}
+		int level = getOutputBufferLevel();
+		if (level != _outputBufferSent && (level == 0 || _outputBufferTicks == 0)) {
+			_outputBufferSent = level;
+			worldObj.notifyBlocksOfNeighborChange(xCoord, yCoord, zCoord, getBlockType());
+		}
+	}
+
+	/**
+	 * @return True if output has to be placed before the machine can continue working.
+	 */
+	protected boolean isOutputBlocked() {
+
+		return failedDrops != null || (_outputBuffer != null && _outputBuffer.isFull());
+	}
+
+	/**
+	 * @return True if the machine has output waiting to be placed, and has to keep ticking to place it.
+	 */
+	protected boolean hasPendingOutput() {
+
+		return failedDrops != null || (_outputBuffer != null && !_outputBuffer.isEmpty());
 	}
 
 	public boolean doDrop(ItemStack drop) {
 
+		if (_outputBuffer != null) {
+			// until the buffer has been flushed its items go first, and its targets are known to be full
+			if (_outputBuffer.isEmpty())
+				drop = UtilInventory.dropStack(this, drop, this.getDropDirections(), this.getDropDirection());
+			if (drop != null && drop.stackSize > 0) {
+				drop = drop.copy();
+				int room = OutputBuffer.getCapacity() - _outputBuffer.getTotal();
+				if (room > 0)
+					_outputBuffer.add(drop.splitStack(Math.min(room, drop.stackSize)));
+				markDirty();
+				if (drop.stackSize > 0) {
+					// the buffer is full; hold on to the rest like any other failed drop
+					if (failedDrops == null) {
+						failedDrops = new ArrayList<ItemStack>();
+					}
+					failedDrops.add(drop);
+					return false;
+				}
+			}
+			return true;
+		}
 		drop = UtilInventory.dropStack(this, drop, this.getDropDirections(), this.getDropDirection());
 		if (drop != null && drop.stackSize > 0) {
 			if (failedDrops == null) {
@@ -239,6 +310,12 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 		if (drops == null || drops.size() <= 0) {
 			return true;
 		}
+		if (_outputBuffer != null && drops != failedDrops) {
+			boolean placed = true;
+			for (int i = drops.size(); i-- > 0;)
+				placed &= doDrop(drops.get(i));
+			return placed;
+		}
 		List<ItemStack> missed = missedDrops;
 		missed.clear();
 		for (int i = drops.size(); i-- > 0;) {
@@ -269,7 +346,24 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 
 	public boolean hasDrops() {
 
-		return failedDrops != null;
+		return isOutputBlocked();
+	}
+
+	/**
+	 * @return How full the output buffer is, from 0 when empty to 15 when full, like a comparator reading a chest.
+	 */
+	protected int getOutputBufferLevel() {
+
+		if (_outputBuffer == null || _outputBuffer.isEmpty())
+			return 0;
+		int capacity = OutputBuffer.getCapacity();
+		return 1 + (int) ((long) Math.min(_outputBuffer.getTotal(), capacity) * 14 / capacity);
+	}
+
+	@Override
+	public int getRedNetCableOutput(ForgeDirection side) {
+
+		return Math.max(super.getRedNetCableOutput(side), getOutputBufferLevel());
 	}
 
 	public int getUpgradeSlot() {
@@ -448,6 +542,16 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 				failedDrops = drops;
 			}
 		}
+		if (_outputBuffer != null) {
+			_outputBuffer.readFromNBT(tag.getTagList("OutputBuffer", 10));
+		} else if (tag.hasKey("OutputBuffer")) {
+			// the buffer was turned off; hold on to what it had the old way
+			OutputBuffer buffer = new OutputBuffer();
+			buffer.readFromNBT(tag.getTagList("OutputBuffer", 10));
+			if (failedDrops == null)
+				failedDrops = new ArrayList<ItemStack>();
+			buffer.drainTo(failedDrops);
+		}
 	}
 
 	@Override
@@ -478,6 +582,9 @@ public abstract class TileEntityFactoryInventory extends TileEntityFactory imple
 			if (dropItems.tagCount() > 0)
 				tag.setTag("DropItems", dropItems);
 		}
+		if (_outputBuffer != null && !_outputBuffer.isEmpty()) {
+			tag.setTag("OutputBuffer", _outputBuffer.writeToNBT());
+		}
 	}
 
 	@Override
@@ -13,7 +13,10 @@ import cpw.mods.fml.relauncher.SideOnly;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.ForgeDirection;
+import net.minecraftforge.fluids.IFluidTank;
 
+import powercrystals.minefactoryreloaded.core.TickProfiler;
+import powercrystals.minefactoryreloaded.net.MachineScheduler;
 import powercrystals.minefactoryreloaded.setup.Machine;
 
 /*
@@ -46,6 +49,14 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 
 	private int _idleTicks;
 
+	// while asleep, the machine is skipped until _wakeTick and its idle time runs out at _idleEnd (scheduler ticks)
+	private boolean _sleeping, _sleepPowered;
+	private int _wakeTick, _idleEnd;
+	// the scheduler tick the per-tick energy allowance was last topped up on while asleep
+	private int _sleepAllowanceTick;
+
+	private TickProfiler.Entry _profile;
+
 	// constructors
 
 	protected TileEntityFactoryPowered(Machine machine) {
@@ -72,13 +83,32 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 	@Override
 	public void updateEntity() {
 
+		if (_sleeping)
+			return;
+		if (!TickProfiler.enabled || worldObj.isRemote) {
+			updateMachine();
+			return;
+		}
+		long start = System.nanoTime();
+		int activations = updateMachine();
+		long time = System.nanoTime() - start;
+		if (_profile == null || !_profile.isCurrent())
+			_profile = TickProfiler.getEntry(this, _machine.getName());
+		_profile.record(time, activations);
+	}
+
+	/**
+	 * @return The number of times the machine activated.
+	 */
+	private int updateMachine() {
+
 		super.updateEntity();
 
 		_energyStored = Math.min(_energyStored, getEnergyStoredMax());
 
 		if (worldObj.isRemote) {
 			machineDisplayTick();
-			return;
+			return 0;
 		}
 
 		markChunkDirty();
@@ -87,30 +117,94 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 
 		_energyRequiredThisTick = Math.max(_energyRequiredThisTick + energyRequired, getMaxEnergyPerTick());
 
-		setIsActive(updateIsActive(failedDrops != null));
+		boolean blocked = isOutputBlocked();
+		setIsActive(updateIsActive(blocked));
 
-		if (failedDrops != null) {
+		if (blocked) {
 			setIdleTicks(getIdleTicksMax());
-			return;
+			return 0;
 		}
 
 		if (_rednetState > 0 || CoreUtils.isRedstonePowered(this)) {
 			setIdleTicks(getIdleTicksMax());
+			sleep(_idleTicks, true);
 		} else if (_idleTicks > 0) {
-			_idleTicks--;
+			if (--_idleTicks > 0)
+				sleep(_idleTicks, false);
 		} else if (_energyStored >= _energyActivation) {
 			int i = 0;
 			for (; i < _workTicks && activateMachine(); ++i);
 			if (i > 0) {
 				_energyStored -= _energyActivation;
 			}
+			return i;
+		} else {
+			// nothing to do until enough energy arrives
+			sleep(0, false);
 		}
+		return 0;
+	}
+
+	/**
+	 * @return True if nothing but the idle countdown would happen while the machine is idle, so it can stop ticking
+	 *         until the countdown ends or something wakes it up.
+	 */
+	protected boolean canSleep() {
+
+		if (!MachineScheduler.isEnabled() || hasPendingOutput() || isActiveSyncPending())
+			return false;
+		if (shouldPumpLiquid())
+			for (IFluidTank tank : getTanks())
+				if (tank.getFluidAmount() > 0 && shouldPumpTank(tank))
+					return false;
+		return true;
+	}
+
+	/**
+	 * Stops ticking the machine until {@code idleTicks} have passed, or for as long as the scheduler allows if there
+	 * is no countdown. {@code powered} machines restart their countdown when they wake up, as they would have every
+	 * tick they were still powered.
+	 */
+	private void sleep(int idleTicks, boolean powered) {
+
+		if (!canSleep())
+			return;
+		int now = MachineScheduler.instance.getTick();
+		_sleeping = true;
+		_sleepPowered = powered;
+		_sleepAllowanceTick = now;
+		_idleEnd = now + idleTicks + 1;
+		_wakeTick = now + (idleTicks > 0 ? Math.min(idleTicks + 1, MachineScheduler.MAX_SLEEP) : MachineScheduler.MAX_SLEEP);
+		MachineScheduler.instance.schedule(this, _wakeTick);
+	}
+
+	/**
+	 * Resumes ticking if the machine is asleep, with whatever is left of its idle time.
+	 */
+	public void wake() {
+
+		if (!_sleeping)
+			return;
+		_sleeping = false;
+		_idleTicks = _sleepPowered ? getIdleTicksMax() : Math.max(_idleEnd - MachineScheduler.instance.getTick(), 0);
+	}
+
+	public void onScheduledWake(int tick) {
+
+		if (_sleeping && _wakeTick == tick)
+			wake();
+	}
+
+	public boolean isSleeping() {
+
+		return _sleeping;
 	}
 
 	@Override
 	protected void onFactoryInventoryChanged() {
 
 		super.onFactoryInventoryChanged();
+		wake();
 		int i = getUpgradeSlot();
 		if (i < 0) {
 			return;
@@ -178,11 +272,13 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 	public void setEnergyStored(int energy) {
 
 		_energyStored = energy;
+		wake();
 	}
 
 	public void drainEnergy(int drainAmount) {
 
 		_energyStored -= drainAmount;
+		wake();
 	}
 
 	public int getWorkDone() {
@@ -205,6 +301,8 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 
 	public int getIdleTicks() {
 
+		if (_sleeping)
+			return _sleepPowered ? getIdleTicksMax() : Math.max(_idleEnd - MachineScheduler.instance.getTick() - 1, 0);
 		return _idleTicks;
 	}
 
@@ -212,6 +310,7 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 
 	public void setIdleTicks(int ticks) {
 
+		wake();
 		_idleTicks = ticks;
 	}
 
@@ -223,8 +322,9 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 		if (_workDone > 0)
 			tag.setInteger("workDone", _workDone);
 
-		if (_idleTicks > 0)
-			tag.setInteger("idleDone", _idleTicks);
+		int idleTicks = getIdleTicks();
+		if (idleTicks > 0)
+			tag.setInteger("idleDone", idleTicks);
 	}
 
 	@Override
@@ -248,6 +348,14 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 
 	public int getEnergyRequired() {
 
+		// the allowance is normally topped up in updateMachine, which doesn't run while asleep
+		if (_sleeping) {
+			int tick = MachineScheduler.instance.getTick();
+			if (_sleepAllowanceTick != tick) {
+				_sleepAllowanceTick = tick;
+				_energyRequiredThisTick = getMaxEnergyPerTick();
+			}
+		}
 		return Math.min(getEnergyStoredMax() - getEnergyStored(), _energyRequiredThisTick);
 	}
 
@@ -255,8 +363,11 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 
 		int energyInjected = Math.max(Math.min(energy, getEnergyRequired()), 0);
 		if (doStore) {
+			boolean couldActivate = _energyStored >= _energyActivation, sufficient = hasSufficientPower();
 			_energyStored += energyInjected;
 			_energyRequiredThisTick -= energyInjected;
+			if (_sleeping && (couldActivate != _energyStored >= _energyActivation || sufficient != hasSufficientPower()))
+				wake();
 		}
 		return energyInjected;
 	}
@@ -312,6 +423,13 @@ public abstract class TileEntityFactoryPowered extends TileEntityFactoryInventor
 		return getEnergyStoredMax();
 	}
 
+	@Override
+	public void onRedNetChanged(ForgeDirection side, int value) {
+
+		super.onRedNetChanged(side, value);
+		wake();
+	}
+
 	// AE methods
 
 	@Override
@@ -123,12 +123,7 @@ public class TileEntityAutoSpawner extends TileEntityFactoryPowered implements I
 					isBlackListed = true;
 					break blackList;
 				}
-				for (Class<?> t : MFRRegistry.getAutoSpawnerClassBlacklist()) {
-					if (t.isAssignableFrom(e)) {
-						isBlackListed = true;
-						break blackList;
-					}
-				}
+				isBlackListed = MFRRegistry.getEntityClassInfo(e).autoSpawnerBlacklisted;
 			}
 			if (isBlackListed) {
 				setWorkDone(0);
@@ -38,6 +38,7 @@ public class TileEntityBlockBreaker extends TileEntityFactoryPowered
 	@Override
 	public void onNeighborBlockChange()
 	{
+		super.onNeighborBlockChange();
 		if (bp != null && !worldObj.isAirBlock(bp.x, bp.y, bp.z))
 			setIdleTicks(0);
 	}
@@ -5,7 +5,11 @@ import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
@@ -14,6 +18,7 @@ import net.minecraft.item.ItemBlock;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
+import net.minecraft.util.StringUtils;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import net.minecraftforge.fluids.Fluid;
@@ -25,15 +30,31 @@ import powercrystals.minefactoryreloaded.core.UtilInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiBlockSmasher;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.container.ContainerBlockSmasher;
+import powercrystals.minefactoryreloaded.setup.MFRConfig;
 import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 import powercrystals.minefactoryreloaded.world.SmashingWorld;
+import powercrystals.minefactoryreloaded.world.SmashingWorld.CountingRandom;
 
 public class TileEntityBlockSmasher extends TileEntityFactoryPowered implements ITankContainerBucketable {
 
 	public static final int MAX_FORTUNE = 3;
 	private int _fortune = 0;
 
+	// smash results by block, metadata and fortune, shared by all smashers; see getOutput
+	private static final int CACHE_SIZE = 256;
+	private static final int SAMPLES = 8, SPOT_CHECK = 16;
+	private static Set<Block> _cacheWhitelist;
+	@SuppressWarnings("serial")
+	private static final LinkedHashMap<Long, SmashResult> _smashCache = new LinkedHashMap<Long, SmashResult>(64, 0.75f, true) {
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, SmashResult> eldest) {
+
+			return size() > CACHE_SIZE;
+		}
+	};
+
 	private ItemStack _lastInput;
 	private List<ItemStack> _lastOutput;
 
@@ -138,6 +159,14 @@ public class TileEntityBlockSmasher extends TileEntityFactoryPowered implements
 		return a == null && b.size() > 0 ? b.get(0) : null;
 	}
 
+	/**
+	 * Smashes {@code input} in the fake world, or reuses an earlier result for the same block, metadata and fortune if
+	 * the block is known to always give the same drops. A block is known to if it is on the configured whitelist, or if
+	 * the first time it is seen, {@link #SAMPLES} smashes with differently seeded randoms draw nothing from the world's
+	 * random and all give the same drops. Reused results are still checked against a real smash every
+	 * {@link #SPOT_CHECK} uses, in case the block rolls on a random of its own, and are never reused again if they
+	 * differ. Every other block is smashed again each time.
+	 */
 	@SuppressWarnings("unchecked")
 	private List<ItemStack> getOutput(ItemStack input) {
 
@@ -149,13 +178,129 @@ public class TileEntityBlockSmasher extends TileEntityFactoryPowered implements
 		if (b == null) {
 			return null;
 		}
+		int meta = block.getMetadata(input.getItemDamage());
+
+		Long key = ((long) Block.getIdFromBlock(b) << 32) | ((meta & 0x0FFFFFFFL) << 4) | _fortune;
+		SmashResult result = _smashCache.get(key);
+		if (result == null) {
+			_smashCache.put(key, result = probe(input, b, meta));
+		}
+		if (result.isFixed() && !result.dueForCheck()) {
+			return result.getDrops();
+		}
 
 		@SuppressWarnings("rawtypes")
-		ArrayList drops = _smashingWorld.smashBlock(input, b, block.getMetadata(input.getItemDamage()), _fortune);
-		if (drops != null && drops.size() > 0) {
-			return drops;
+		ArrayList drops = _smashingWorld.smashBlock(input, b, meta, _fortune);
+		if (drops == null || drops.size() == 0) {
+			drops = null;
+		}
+		result.check(drops);
+		return drops;
+	}
+
+	private SmashResult probe(ItemStack input, Block block, int meta) {
+
+		if (getCacheWhitelist().contains(block)) {
+			return new SmashResult(_smashingWorld.smashBlock(input, block, meta, _fortune), true, true);
+		}
+		List<ItemStack> first = null;
+		for (int i = 0; i < SAMPLES; ++i) {
+			CountingRandom random = new CountingRandom(worldObj.rand.nextLong());
+			List<ItemStack> drops = _smashingWorld.smashBlock(input, block, meta, _fortune, random);
+			if (random.getCalls() > 0) {
+				return new SmashResult(null, false, false);
+			}
+			if (i == 0) {
+				first = drops;
+			} else if (!SmashResult.sameDrops(first, drops)) {
+				return new SmashResult(null, false, false);
+			}
+		}
+		return new SmashResult(first, true, false);
+	}
+
+	private static Set<Block> getCacheWhitelist() {
+
+		if (_cacheWhitelist == null) {
+			Set<Block> whitelist = new HashSet<Block>();
+			for (String s : MFRConfig.smasherCacheWhitelist.getStringList()) {
+				Block block = StringUtils.isNullOrEmpty(s) ? null : Block.getBlockFromName(s);
+				if (block != null)
+					whitelist.add(block);
+			}
+			_cacheWhitelist = whitelist;
+		}
+		return _cacheWhitelist;
+	}
+
+	private static final class SmashResult {
+
+		private final boolean whitelisted;
+		private boolean fixed;
+		private List<ItemStack> drops;
+		private int uses;
+
+		SmashResult(List<ItemStack> drops, boolean fixed, boolean whitelisted) {
+
+			if (drops != null && drops.isEmpty())
+				drops = null;
+			this.drops = drops;
+			this.fixed = fixed;
+			this.whitelisted = whitelisted;
+		}
+
+		/**
+		 * @return True if the block is believed to always give the same drops.
+		 */
+		boolean isFixed() {
+
+			return fixed;
+		}
+
+		/**
+		 * @return True if this use should be checked against a real smash.
+		 */
+		boolean dueForCheck() {
+
+			return !whitelisted && ++uses % SPOT_CHECK == 0;
+		}
+
+		void check(List<ItemStack> observed) {
+
+			if (fixed && !whitelisted && !sameDrops(drops, observed)) {
+				fixed = false;
+				drops = null;
+			}
+		}
+
+		/**
+		 * @return A copy of the drops, since the smasher consumes the list it is given.
+		 */
+		List<ItemStack> getDrops() {
+
+			if (drops == null)
+				return null;
+			List<ItemStack> copy = new ArrayList<ItemStack>(drops.size());
+			for (int i = 0, e = drops.size(); i < e; ++i)
+				copy.add(drops.get(i).copy());
+			return copy;
+		}
+
+		static boolean sameDrops(List<ItemStack> a, List<ItemStack> b) {
+
+			if (a != null && a.isEmpty())
+				a = null;
+			if (b != null && b.isEmpty())
+				b = null;
+			if (a == null | b == null)
+				return a == b;
+			if (a.size() != b.size())
+				return false;
+			for (int i = 0, e = a.size(); i < e; ++i)
+				if (!ItemStack.areItemStacksEqual(a.get(i), b.get(i)))
+					return false;
+			return true;
 		}
-		return null;
 	}
 
 	public int getFortune() {
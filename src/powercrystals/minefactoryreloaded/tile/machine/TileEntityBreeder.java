@@ -14,6 +14,7 @@ import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryPowered;
 import powercrystals.minefactoryreloaded.gui.container.ContainerFactoryPowered;
@@ -23,6 +24,8 @@ import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 
 public class TileEntityBreeder extends TileEntityFactoryPowered
 {
+	private final List<EntityAnimal> _animals = new ArrayList<EntityAnimal>();
+	private final List<EntityVillager> _villagers = new ArrayList<EntityVillager>();
 
 	public TileEntityBreeder()
 	{
@@ -60,8 +63,8 @@ public class TileEntityBreeder extends TileEntityFactoryPowered
 	@Override
 	protected boolean activateMachine()
 	{
-		List<EntityAnimal> entities = worldObj.getEntitiesWithinAABB(EntityAnimal.class,
-				_areaManager.getHarvestArea().toAxisAlignedBB());
+		List<EntityAnimal> entities = EntityIndex.collect(worldObj, EntityAnimal.class,
+				_areaManager.getHarvestArea().toAxisAlignedBB(), _animals);
 
 		if(entities.size() > MFRConfig.breederShutdownThreshold.getInt())
 		{
@@ -103,8 +106,8 @@ public class TileEntityBreeder extends TileEntityFactoryPowered
 		
 		if (doors.size() > 0)
 		{
-			List<EntityVillager> villagers = worldObj.getEntitiesWithinAABB(EntityVillager.class,
-					_areaManager.getHarvestArea().toAxisAlignedBB());
+			List<EntityVillager> villagers = EntityIndex.collect(worldObj, EntityVillager.class,
+					_areaManager.getHarvestArea().toAxisAlignedBB(), _villagers);
 
 			if (villagers.size() > MFRConfig.breederShutdownThreshold.getInt())
 			{
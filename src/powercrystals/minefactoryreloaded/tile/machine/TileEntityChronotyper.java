@@ -4,6 +4,7 @@ import cofh.lib.util.position.BlockPosition;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.entity.EntityAgeable;
@@ -11,6 +12,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.gui.client.GuiChronotyper;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.container.ContainerChronotyper;
@@ -20,6 +22,7 @@ import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 public class TileEntityChronotyper extends TileEntityFactoryPowered {
 
 	private boolean _moveOld;
+	private final List<EntityAgeable> _entities = new ArrayList<EntityAgeable>();
 
 	public TileEntityChronotyper() {
 
@@ -50,7 +53,7 @@ public class TileEntityChronotyper extends TileEntityFactoryPowered {
 	@Override
 	protected boolean activateMachine() {
 
-		List<?> entities = worldObj.getEntitiesWithinAABB(EntityAgeable.class, _areaManager.getHarvestArea().toAxisAlignedBB());
+		List<?> entities = EntityIndex.collect(worldObj, EntityAgeable.class, _areaManager.getHarvestArea().toAxisAlignedBB(), _entities);
 
 		for (Object o : entities) {
 			if (!(o instanceof EntityAgeable)) {
@@ -133,6 +133,13 @@ public class TileEntityChunkLoader extends TileEntityFactoryPowered implements I
 		return true;
 	}
 
+	@Override
+	protected boolean canSleep() {
+
+		// keeps its chunks loaded and its fuel burning while idle
+		return false;
+	}
+
 	@Override
 	public void updateEntity() {
 
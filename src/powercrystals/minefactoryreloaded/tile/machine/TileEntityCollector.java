@@ -27,7 +27,7 @@ public class TileEntityCollector extends TileEntityFactoryInventory implements I
 	@Override
 	public void onEntityCollided(Entity entity)
 	{
-		if (failedDrops == null && entity instanceof EntityItem)
+		if (!isOutputBlocked() && entity instanceof EntityItem)
 			addToChests((EntityItem)entity);
 	}
 
@@ -49,7 +49,7 @@ public class TileEntityCollector extends TileEntityFactoryInventory implements I
 	{
 		s = UtilInventory.dropStack(this, s,
 				MFRUtil.directionsWithoutConveyors(worldObj, xCoord, yCoord, zCoord), ForgeDirection.UNKNOWN);
-		if (canStuff & failedDrops == null & s != null)
+		if (canStuff & !isOutputBlocked() & s != null)
 		{
 			doDrop(s);
 			s = null;
@@ -60,13 +60,13 @@ public class TileEntityCollector extends TileEntityFactoryInventory implements I
 	@Override
 	public boolean hasWorldObj()
 	{
-		return worldObj != null & failedDrops != null;
+		return worldObj != null & hasPendingOutput();
 	}
 
 	@Override
 	public int getComparatorOutput(int side)
 	{
-		return failedDrops != null ? 15 : 0;
+		return isOutputBlocked() ? 15 : getOutputBufferLevel();
 	}
 
 	@Override
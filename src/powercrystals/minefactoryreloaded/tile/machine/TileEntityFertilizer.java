@@ -1,6 +1,5 @@
 package powercrystals.minefactoryreloaded.tile.machine;
 
-import cofh.lib.util.position.BlockPosition;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
@@ -11,12 +10,14 @@ import net.minecraft.block.Block;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
 import powercrystals.minefactoryreloaded.api.FertilizerType;
 import powercrystals.minefactoryreloaded.api.IFactoryFertilizable;
 import powercrystals.minefactoryreloaded.api.IFactoryFertilizer;
+import powercrystals.minefactoryreloaded.core.HarvestAreaManager.ICandidateFilter;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiUpgradeable;
 import powercrystals.minefactoryreloaded.gui.container.ContainerUpgradeable;
@@ -24,7 +25,7 @@ import powercrystals.minefactoryreloaded.setup.MFRConfig;
 import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 
-public class TileEntityFertilizer extends TileEntityFactoryPowered {
+public class TileEntityFertilizer extends TileEntityFactoryPowered implements ICandidateFilter {
 
 	private Random _rand;
 
@@ -33,10 +34,23 @@ public class TileEntityFertilizer extends TileEntityFactoryPowered {
 		super(Machine.Fertilizer);
 		_rand = new Random();
 		createHAM(this, 1);
+		_areaManager.setCandidateFilter(this);
 		setManageSolids(true);
 		setCanRotate(true);
 	}
 
+	@Override
+	public boolean isCandidate(World world, int x, int y, int z) {
+
+		return MFRRegistry.getFertilizables().containsKey(world.getBlock(x, y, z));
+	}
+
+	@Override
+	public void onCandidatesAvailable() {
+
+		setIdleTicks(0);
+	}
+
 	@Override
 	@SideOnly(Side.CLIENT)
 	public GuiFactoryInventory getGui(InventoryPlayer inventoryPlayer) {
@@ -53,15 +67,19 @@ public class TileEntityFertilizer extends TileEntityFactoryPowered {
 	@Override
 	public boolean activateMachine() {
 
-		BlockPosition bp = _areaManager.getNextBlock();
-		if (!worldObj.blockExists(bp.x, bp.y, bp.z)) {
+		if (!_areaManager.nextBlock()) {
+			setIdleTicks(getIdleTicksMax());
+			return false;
+		}
+		int x = _areaManager.getBlockX(), y = _areaManager.getBlockY(), z = _areaManager.getBlockZ();
+		if (!worldObj.blockExists(x, y, z)) {
 			setIdleTicks(getIdleTicksMax());
 			return false;
 		}
 
 		Map<Block, IFactoryFertilizable> fertalizables = MFRRegistry.getFertilizables();
 
-		Block target = worldObj.getBlock(bp.x, bp.y, bp.z);
+		Block target = worldObj.getBlock(x, y, z);
 		if (!fertalizables.containsKey(target)) {
 			setIdleTicks(getIdleTicksMax());
 			return false;
@@ -79,13 +97,13 @@ public class TileEntityFertilizer extends TileEntityFactoryPowered {
 
 			if (type == FertilizerType.None)
 				continue;
-			if (!fertilizable.canFertilize(worldObj, bp.x, bp.y, bp.z, type))
+			if (!fertilizable.canFertilize(worldObj, x, y, z, type))
 				continue;
 
-			if (fertilizable.fertilize(worldObj, _rand, bp.x, bp.y, bp.z, type)) {
+			if (fertilizable.fertilize(worldObj, _rand, x, y, z, type)) {
 				fertilizer.consume(fertStack);
 				if (MFRConfig.playSounds.getBoolean(true)) // particles
-					worldObj.playAuxSFXAtEntity(null, 2005, bp.x, bp.y, bp.z, _rand.nextInt(10) + 5);
+					worldObj.playAuxSFXAtEntity(null, 2005, x, y, z, _rand.nextInt(10) + 5);
 				if (fertStack.stackSize <= 0)
 					setInventorySlotContents(stackIndex, null);
 
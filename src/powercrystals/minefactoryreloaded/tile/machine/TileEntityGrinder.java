@@ -4,6 +4,7 @@ import cofh.core.util.fluid.FluidTankAdv;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -21,8 +22,10 @@ import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
+import powercrystals.minefactoryreloaded.MFRRegistry.EntityClassInfo;
 import powercrystals.minefactoryreloaded.api.IFactoryGrindable;
 import powercrystals.minefactoryreloaded.api.MobDrop;
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.core.GrindingDamage;
 import powercrystals.minefactoryreloaded.core.ITankContainerBucketable;
 import powercrystals.minefactoryreloaded.core.MFRLiquidMover;
@@ -40,6 +43,7 @@ public class TileEntityGrinder extends TileEntityFactoryPowered implements ITank
 	protected Random _rand;
 	protected GrindingWorldServer _grindingWorld;
 	protected GrindingDamage _damageSource;
+	protected final List<EntityLivingBase> _entities = new ArrayList<EntityLivingBase>();
 
 	protected TileEntityGrinder(Machine machine)
 	{
@@ -122,7 +126,7 @@ public class TileEntityGrinder extends TileEntityFactoryPowered implements ITank
 	public boolean activateMachine()
 	{
 		_grindingWorld.cleanReferences();
-		List<?> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB());
+		List<?> entities = EntityIndex.collect(worldObj, EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB(), _entities);
 
 		entityList: for(Object o : entities)
 		{
@@ -132,11 +136,12 @@ public class TileEntityGrinder extends TileEntityFactoryPowered implements ITank
 				continue;
 			}
 
+			EntityClassInfo info = MFRRegistry.getEntityClassInfo(e.getClass());
 			processEntity:
 			{
-				if(MFRRegistry.getGrindables().containsKey(e.getClass()))
+				if(info.grindable != null)
 				{
-					IFactoryGrindable r = MFRRegistry.getGrindables().get(e.getClass());
+					IFactoryGrindable r = info.grindable;
 					List<MobDrop> drops = r.grind(e.worldObj, e, getRandom());
 					if(drops != null && drops.size() > 0 && WeightedRandom.getTotalWeight(drops) > 0)
 					{
@@ -153,12 +158,9 @@ public class TileEntityGrinder extends TileEntityFactoryPowered implements ITank
 					}
 				}
 
-				for(Class<?> t : MFRRegistry.getGrinderBlacklist())
+				if(info.grinderBlacklisted)
 				{
-					if(t.isInstance(e))
-					{
-						continue entityList;
-					}
+					continue entityList;
 				}
 			}
 
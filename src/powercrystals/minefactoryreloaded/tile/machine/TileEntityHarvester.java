@@ -19,6 +19,7 @@ import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 import net.minecraftforge.event.ForgeEventFactory;
 import net.minecraftforge.fluids.Fluid;
@@ -28,6 +29,7 @@ import net.minecraftforge.fluids.FluidStack;
 import powercrystals.minefactoryreloaded.MFRRegistry;
 import powercrystals.minefactoryreloaded.api.HarvestType;
 import powercrystals.minefactoryreloaded.api.IFactoryHarvestable;
+import powercrystals.minefactoryreloaded.core.HarvestAreaManager.ICandidateFilter;
 import powercrystals.minefactoryreloaded.core.HarvestMode;
 import powercrystals.minefactoryreloaded.core.IHarvestManager;
 import powercrystals.minefactoryreloaded.core.ITankContainerBucketable;
@@ -40,7 +42,7 @@ import powercrystals.minefactoryreloaded.setup.MFRConfig;
 import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 
-public class TileEntityHarvester extends TileEntityFactoryPowered implements ITankContainerBucketable {
+public class TileEntityHarvester extends TileEntityFactoryPowered implements ITankContainerBucketable, ICandidateFilter {
 
 	private static boolean skip = false;
 	private static Map<String, Boolean> DEFAULT_SETTINGS;
@@ -66,6 +68,7 @@ public class TileEntityHarvester extends TileEntityFactoryPowered implements ITa
 
 		super(Machine.Harvester);
 		createHAM(this, 1);
+		_areaManager.setCandidateFilter(this);
 		setManageSolids(true);
 
 		_settings = new HashMap<String, Boolean>();
@@ -93,6 +96,7 @@ public class TileEntityHarvester extends TileEntityFactoryPowered implements ITa
 		super.validate();
 		if (!worldObj.isRemote) {
 			createHAM(this, 1);
+			_areaManager.setCandidateFilter(this);
 			onFactoryInventoryChanged();
 			if (_treeManager != null && _areaManager.getHarvestArea().contains(_treeManager.getOrigin())) {
 				_treeManager.setWorld(worldObj);
@@ -117,6 +121,18 @@ public class TileEntityHarvester extends TileEntityFactoryPowered implements ITa
 		return new ContainerHarvester(this, inventoryPlayer);
 	}
 
+	@Override
+	public boolean isCandidate(World world, int x, int y, int z) {
+
+		return MFRRegistry.getHarvestables().containsKey(world.getBlock(x, y, z));
+	}
+
+	@Override
+	public void onCandidatesAvailable() {
+
+		setIdleTicks(0);
+	}
+
 	public Map<String, Boolean> getSettings() {
 
 		return _settings;
@@ -200,6 +216,9 @@ public class TileEntityHarvester extends TileEntityFactoryPowered implements ITa
 			return getNextTreeSegment(_lastTree, false);
 		BlockPosition bp = _areaManager.getNextBlock();
 		_lastTree = null;
+		if (bp == null) {
+			return null;
+		}
 		if (skip) {
 			int extra = getExtraIdleTime(10);
 			if (extra > 0 && extra > _rand.nextInt(15))
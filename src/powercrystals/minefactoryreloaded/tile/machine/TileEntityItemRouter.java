@@ -3,6 +3,10 @@ package powercrystals.minefactoryreloaded.tile.machine;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import gnu.trove.map.hash.TIntObjectHashMap;
+
+import java.util.HashMap;
+
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
@@ -33,6 +37,11 @@ public class TileEntityItemRouter extends TileEntityFactoryInventory implements
 
 	private int[] _defaultRoutes = new int[_outputDirections.length];
 
+	// the filter slots compiled into route weights by item and damage; see getRoutesForItem
+	private static final int[] _noRoutes = new int[_outputDirections.length];
+	private final HashMap<Item, CompiledRoutes> _routeTable = new HashMap<Item, CompiledRoutes>();
+	private boolean _routeTableValid;
+
 	public TileEntityItemRouter() {
 
 		this(Machine.ItemRouter);
@@ -98,39 +107,42 @@ public class TileEntityItemRouter extends TileEntityFactoryInventory implements
 
 	private ItemStack weightedRouteItem(ItemStack stack, int[] routes) {
 
+		// dropStack copies what it is given, so one copy carries each route's share in turn
 		ItemStack remainingOverall = stack.copy();
+		int remaining = stack.stackSize;
 		int weight = totalWeight(routes);
 		if (stack.stackSize >= weight) {
 			int startingAmount = stack.stackSize;
 			for (int i = 0; i < routes.length; i++) {
-				ItemStack stackForThisRoute = stack.copy();
-				stackForThisRoute.stackSize = startingAmount * routes[i] / weight;
-				if (stackForThisRoute.stackSize > 0) {
-					ItemStack remainingFromThisRoute = UtilInventory.dropStack(this, stackForThisRoute, _outputDirections[i], _outputDirections[i]);
+				int amountForThisRoute = startingAmount * routes[i] / weight;
+				if (amountForThisRoute > 0) {
+					remainingOverall.stackSize = amountForThisRoute;
+					ItemStack remainingFromThisRoute = UtilInventory.dropStack(this, remainingOverall, _outputDirections[i], _outputDirections[i]);
 					if (remainingFromThisRoute == null) {
-						remainingOverall.stackSize -= stackForThisRoute.stackSize;
+						remaining -= amountForThisRoute;
 					}
 					else {
-						remainingOverall.stackSize -= (stackForThisRoute.stackSize - remainingFromThisRoute.stackSize);
+						remaining -= (amountForThisRoute - remainingFromThisRoute.stackSize);
 					}
 
-					if (remainingOverall.stackSize <= 0) {
+					if (remaining <= 0) {
 						break;
 					}
 				}
 			}
 		}
+		remainingOverall.stackSize = remaining;
 
-		if (0 < remainingOverall.stackSize && remainingOverall.stackSize < totalWeight(routes)) {
-			int outdir = weightedRandomSide(routes);
+		if (0 < remaining && remaining < weight) {
+			int outdir = weightedRandomSide(routes, weight);
 			remainingOverall = UtilInventory.dropStack(this, remainingOverall, _outputDirections[outdir], _outputDirections[outdir]);
 		}
 		return remainingOverall;
 	}
 
-	private int weightedRandomSide(int[] routeWeights) {
+	private int weightedRandomSide(int[] routeWeights, int totalWeight) {
 
-		int random = worldObj.rand.nextInt(totalWeight(routeWeights));
+		int random = worldObj.rand.nextInt(totalWeight);
 		for (int i = 0; i < routeWeights.length; i++) {
 			random -= routeWeights[i];
 			if (random < 0)
@@ -157,26 +169,53 @@ public class TileEntityItemRouter extends TileEntityFactoryInventory implements
 		return false;
 	}
 
+	/**
+	 * @return The weight of each output direction for {@code stack}. The array may be shared and must not be modified.
+	 */
 	protected int[] getRoutesForItem(ItemStack stack) {
 
-		int[] routeWeights = new int[_outputDirections.length];
+		if (!_routeTableValid)
+			compileRoutes();
+
+		CompiledRoutes routes = _routeTable.get(stack.getItem());
+		if (routes == null)
+			return _noRoutes;
+		if (stack.isItemStackDamageable())
+			return routes.anyDamage;
+		int[] routeWeights = routes.byDamage.get(stack.getItemDamage());
+		return routeWeights != null ? routeWeights : _noRoutes;
+	}
 
-		Item item = stack.getItem();
+	/**
+	 * Sums the filter slots for each side by item and damage, so that routing a stack is a lookup rather than a scan
+	 * of all 45 slots. Damageable items match a filter of the same item with any damage.
+	 */
+	private void compileRoutes() {
 
+		_routeTable.clear();
 		for (int i = 0; i < _outputDirections.length; i++) {
 			int sideStart = _invOffsets[_outputDirections[i].ordinal()];
-			routeWeights[i] = 0;
 			for (int j = sideStart; j < sideStart + 9; j++) {
-				if (_inventory[j] != null) {
-					if (_inventory[j].getItem().equals(item) &&
-							(stack.isItemStackDamageable() ||
-							_inventory[j].getItemDamage() == stack.getItemDamage())) {
-						routeWeights[i] += _inventory[j].stackSize;
-					}
-				}
+				ItemStack filter = _inventory[j];
+				if (filter == null)
+					continue;
+				CompiledRoutes routes = _routeTable.get(filter.getItem());
+				if (routes == null)
+					_routeTable.put(filter.getItem(), routes = new CompiledRoutes());
+				int[] byDamage = routes.byDamage.get(filter.getItemDamage());
+				if (byDamage == null)
+					routes.byDamage.put(filter.getItemDamage(), byDamage = new int[_outputDirections.length]);
+				byDamage[i] += filter.stackSize;
+				routes.anyDamage[i] += filter.stackSize;
 			}
 		}
-		return routeWeights;
+		_routeTableValid = true;
+	}
+
+	private static final class CompiledRoutes {
+
+		final int[] anyDamage = new int[_outputDirections.length];
+		final TIntObjectHashMap<int[]> byDamage = new TIntObjectHashMap<int[]>(2);
 	}
 
 	private void recalculateDefaultRoutes() {
@@ -296,6 +335,7 @@ public class TileEntityItemRouter extends TileEntityFactoryInventory implements
 	protected void onFactoryInventoryChanged() {
 
 		super.onFactoryInventoryChanged();
+		_routeTableValid = false;
 		recalculateDefaultRoutes();
 	}
 
@@ -325,6 +365,7 @@ public class TileEntityItemRouter extends TileEntityFactoryInventory implements
 
 		super.readFromNBT(tag);
 		_rejectUnmapped = tag.getBoolean("rejectUnmapped");
+		_routeTableValid = false;
 		recalculateDefaultRoutes();
 	}
 
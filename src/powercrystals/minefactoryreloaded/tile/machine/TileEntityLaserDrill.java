@@ -5,7 +5,7 @@ import cofh.lib.util.helpers.MathHelper;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -22,6 +22,8 @@ import net.minecraftforge.common.util.ForgeDirection;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
 import powercrystals.minefactoryreloaded.api.IFactoryLaserTarget;
+import powercrystals.minefactoryreloaded.core.HarvestCandidateIndex;
+import powercrystals.minefactoryreloaded.core.HarvestCandidateIndex.IBlockChangeListener;
 import powercrystals.minefactoryreloaded.core.MFRUtil;
 import powercrystals.minefactoryreloaded.core.UtilInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
@@ -33,7 +35,8 @@ import powercrystals.minefactoryreloaded.setup.MFRThings;
 import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryInventory;
 
-public class TileEntityLaserDrill extends TileEntityFactoryInventory implements IFactoryLaserTarget {
+public class TileEntityLaserDrill extends TileEntityFactoryInventory implements IFactoryLaserTarget,
+		IBlockChangeListener {
 
 	private static final int _energyPerWork = Machine.LaserDrillPrecharger.getActivationEnergy() * 4;
 	private static final int _energyStoredMax = 1000000;
@@ -49,6 +52,17 @@ public class TileEntityLaserDrill extends TileEntityFactoryInventory implements
 
 	private Random _rand;
 
+	private static final int COLUMN_RECHECK_INTERVAL = 1200;
+	private World _columnWorld;
+	private boolean _columnDirty;
+	private long _nextColumnCheck;
+
+	// the ore table with the focuses' boosts applied; rebuilt when the focuses change
+	private ItemStack[] _dropStacks;
+	private int[] _dropWeights;
+	private int[] _dropCounts;
+	private int _dropTotalWeight;
+
 	public static boolean canReplaceBlock(Block block, World world, int x, int y, int z) {
 
 		return block == null || block.getBlockHardness(world, x, y, z) == 0 || block.isAir(world, x, y, z);
@@ -103,9 +117,42 @@ public class TileEntityLaserDrill extends TileEntityFactoryInventory implements
 		if (hasDrops())
 			return;
 
-		if (shouldCheckDrill()) {
-			updateDrill();
+		if (_columnWorld != worldObj) {
+			trackColumn();
+		}
+		if (_columnDirty || worldObj.getTotalWorldTime() >= _nextColumnCheck) {
+			updateColumn();
+		}
+
+		if (_bedrockLevel < 0) {
+			return;
+		}
+
+		int energyToDraw = Math.min(_energyPerWork, _energyStored);
+		float energyPerWorkHere = _energyPerWork * (1.2f - 0.4f * Math.min(yCoord - _bedrockLevel, 128f) / 128f);
+
+		float workDone = energyToDraw / energyPerWorkHere;
+		_workStored += workDone;
+		_energyStored -= workDone * energyPerWorkHere;
+
+		if (_workStored >= _workStoredMax) {
+			int drops = (int) (_workStored / _workStoredMax);
+			_workStored -= drops * _workStoredMax;
+			doDrop(getRandomDrops(drops));
 		}
+	}
+
+	/**
+	 * Re-walks the column and keeps the fake laser block below the drill in step with it. This only runs when a block in
+	 * the column has changed, and every {@link #COLUMN_RECHECK_INTERVAL} ticks to catch changes that were not sent to
+	 * clients.
+	 */
+	private void updateColumn() {
+
+		_columnDirty = false;
+		_nextColumnCheck = worldObj.getTotalWorldTime() + COLUMN_RECHECK_INTERVAL;
+
+		updateDrill();
 
 		Block lowerId = worldObj.getBlock(xCoord, yCoord - 1, zCoord);
 
@@ -113,27 +160,54 @@ public class TileEntityLaserDrill extends TileEntityFactoryInventory implements
 			if (lowerId.equals(MFRThings.fakeLaserBlock)) {
 				worldObj.setBlockToAir(xCoord, yCoord - 1, zCoord);
 			}
-			return;
-		}
-
-		if (!lowerId.equals(MFRThings.fakeLaserBlock) &&
+		} else if (!lowerId.equals(MFRThings.fakeLaserBlock) &&
 				canReplaceBlock(lowerId, worldObj, xCoord, yCoord - 1, zCoord)) {
 			worldObj.setBlock(xCoord, yCoord - 1, zCoord, MFRThings.fakeLaserBlock);
 		}
+	}
 
-		int energyToDraw = Math.min(_energyPerWork, _energyStored);
-		float energyPerWorkHere = _energyPerWork * (1.2f - 0.4f * Math.min(yCoord - _bedrockLevel, 128f) / 128f);
+	private void trackColumn() {
 
-		float workDone = energyToDraw / energyPerWorkHere;
-		_workStored += workDone;
-		_energyStored -= workDone * energyPerWorkHere;
+		untrackColumn();
+		_columnWorld = worldObj;
+		_columnDirty = true;
+		HarvestCandidateIndex.register(worldObj, this, xCoord, zCoord, xCoord, zCoord);
+	}
 
-		while (_workStored >= _workStoredMax) {
-			_workStored -= _workStoredMax;
-			doDrop(getRandomDrop());
+	private void untrackColumn() {
+
+		if (_columnWorld != null) {
+			HarvestCandidateIndex.unregister(_columnWorld, this, xCoord, zCoord, xCoord, zCoord);
+			_columnWorld = null;
+		}
+	}
+
+	@Override
+	public void onBlockChanged(World world, int x, int y, int z) {
+
+		if (x != xCoord | z != zCoord | y >= yCoord || world != _columnWorld) {
+			return;
+		}
+		// placing our own beam doesn't change anything
+		if (!world.getBlock(x, y, z).equals(MFRThings.fakeLaserBlock)) {
+			_columnDirty = true;
 		}
 	}
 
+	@Override
+	public void invalidate() {
+
+		untrackColumn();
+		super.invalidate();
+	}
+
+	@Override
+	public void onChunkUnload() {
+
+		super.onChunkUnload();
+		untrackColumn();
+	}
+
 	public int getWorkDone() {
 
 		return (int) _workStored;
@@ -199,6 +273,8 @@ public class TileEntityLaserDrill extends TileEntityFactoryInventory implements
 
 		super.onFactoryInventoryChanged();
 
+		_dropStacks = null;
+
 		int r = 0, g = 0, b = 0, d = 0;
 		for (ItemStack s : _inventory) {
 			++d;
@@ -246,15 +322,19 @@ public class TileEntityLaserDrill extends TileEntityFactoryInventory implements
 		color = tag.getInteger("color");
 	}
 
-	private ItemStack getRandomDrop() {
+	private void buildDropTable() {
 
-		List<WeightedRandomItemStack> drops = new LinkedList<WeightedRandomItemStack>();
-		int boost = WeightedRandom.getTotalWeight(MFRRegistry.getLaserOres()) / 30;
+		List<WeightedRandom.Item> ores = MFRRegistry.getLaserOres();
+		int n = ores.size();
+		ItemStack[] stacks = new ItemStack[n];
+		int[] weights = new int[n];
+		int boost = WeightedRandom.getTotalWeight(ores) / 30;
+		int total = 0;
 
-		for (WeightedRandom.Item i : MFRRegistry.getLaserOres()) {
-			WeightedRandomItemStack oldStack = (WeightedRandomItemStack) i;
-			WeightedRandomItemStack newStack = new WeightedRandomItemStack(oldStack.getStack(), oldStack.itemWeight);
-			drops.add(newStack);
+		for (int i = 0; i < n; ++i) {
+			WeightedRandomItemStack ore = (WeightedRandomItemStack) ores.get(i);
+			ItemStack stack = ore.getStack();
+			int weight = ore.itemWeight;
 			for (ItemStack s : _inventory) {
 				if (s == null || !s.getItem().equals(MFRThings.laserFocusItem) ||
 						MFRRegistry.getLaserPreferredOres(s.getItemDamage()) == null) {
@@ -265,14 +345,66 @@ public class TileEntityLaserDrill extends TileEntityFactoryInventory implements
 				int realBoost = boost / Math.max(1, preferredOres.size() / 2) + 1;
 
 				for (ItemStack preferredOre : preferredOres) {
-					if (UtilInventory.stacksEqual(newStack.getStack(), preferredOre)) {
-						newStack.itemWeight += realBoost;
+					if (UtilInventory.stacksEqual(stack, preferredOre)) {
+						weight += realBoost;
 					}
 				}
 			}
+			stacks[i] = stack;
+			// running total, for a binary search over the table
+			weights[i] = total += weight;
+		}
+
+		_dropStacks = stacks;
+		_dropWeights = weights;
+		_dropCounts = new int[n];
+		_dropTotalWeight = total;
+	}
+
+	/**
+	 * Rolls {@code rolls} drops from the ore table at once, merging repeats of the same ore into one stack.
+	 */
+	private List<ItemStack> getRandomDrops(int rolls) {
+
+		if (_dropStacks == null) {
+			buildDropTable();
+		}
+		List<ItemStack> drops = new ArrayList<ItemStack>(Math.min(rolls, _dropStacks.length));
+		if (_dropTotalWeight <= 0) {
+			return drops;
 		}
 
-		return ((WeightedRandomItemStack) WeightedRandom.getRandomItem(_rand, drops)).getStack();
+		int[] weights = _dropWeights, counts = _dropCounts;
+		for (int i = rolls; i-- > 0;) {
+			int r = _rand.nextInt(_dropTotalWeight);
+			int lo = 0, hi = weights.length - 1;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (weights[mid] > r) {
+					hi = mid;
+				} else {
+					lo = mid + 1;
+				}
+			}
+			++counts[lo];
+		}
+
+		for (int i = 0; i < counts.length; ++i) {
+			int count = counts[i];
+			if (count == 0) {
+				continue;
+			}
+			counts[i] = 0;
+			ItemStack base = _dropStacks[i];
+			int size = base.stackSize * count, max = Math.max(1, base.getMaxStackSize());
+			while (size > 0) {
+				ItemStack drop = base.copy();
+				drop.stackSize = Math.min(size, max);
+				size -= drop.stackSize;
+				drops.add(drop);
+			}
+		}
+		return drops;
 	}
 
 	@Override
@@ -3,6 +3,7 @@ package powercrystals.minefactoryreloaded.tile.machine;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraftforge.common.util.ForgeDirection;
 
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.setup.MFRThings;
 import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactory;
@@ -34,7 +35,7 @@ public class TileEntityMobCounter extends TileEntityFactory
 			return;
 		}
 
-		int mobCount = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB()).size();
+		int mobCount = EntityIndex.count(worldObj, EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB());
 		if (mobCount != _lastMobCount)
 		{
 			_lastMobCount = mobCount;
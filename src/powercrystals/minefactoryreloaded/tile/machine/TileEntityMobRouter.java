@@ -6,6 +6,7 @@ import cofh.lib.util.position.BlockPosition;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -14,6 +15,7 @@ import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiMobRouter;
 import powercrystals.minefactoryreloaded.gui.container.ContainerMobRouter;
@@ -24,6 +26,7 @@ public class TileEntityMobRouter extends TileEntityFactoryPowered {
 
 	protected int _matchMode;
 	protected boolean _blacklist;
+	protected final List<EntityLivingBase> _entities = new ArrayList<EntityLivingBase>();
 
 	public TileEntityMobRouter() {
 
@@ -56,9 +59,8 @@ public class TileEntityMobRouter extends TileEntityFactoryPowered {
 		} else
 			matchClass = EntityLivingBase.class;
 
-		List<? extends EntityLivingBase> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class,
-			_areaManager.getHarvestArea().toAxisAlignedBB());
-		List<Class<?>> blacklist = MFRRegistry.getSafariNetBlacklist();
+		List<? extends EntityLivingBase> entities = EntityIndex.collect(worldObj, EntityLivingBase.class,
+			_areaManager.getHarvestArea().toAxisAlignedBB(), _entities);
 
 		switch (_matchMode) {
 		case 3:
@@ -71,7 +73,8 @@ public class TileEntityMobRouter extends TileEntityFactoryPowered {
 
 		for (EntityLivingBase entity : entities) {
 			Class<?> entityClass = entity.getClass();
-			if (blacklist.contains(entityClass) || EntityPlayer.class.isAssignableFrom(entityClass))
+			if (MFRRegistry.getEntityClassInfo(entityClass).safariNetBlacklisted ||
+					EntityPlayer.class.isAssignableFrom(entityClass))
 				continue;
 			boolean match;
 			switch (_matchMode) {
@@ -1,18 +1,20 @@
 package powercrystals.minefactoryreloaded.tile.machine;
 
-import cofh.lib.util.position.BlockPosition;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import net.minecraft.block.Block;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
 import powercrystals.minefactoryreloaded.api.IFactoryPlantable;
 import powercrystals.minefactoryreloaded.api.ReplacementBlock;
+import powercrystals.minefactoryreloaded.core.HarvestAreaManager.ICandidateFilter;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiPlanter;
 import powercrystals.minefactoryreloaded.gui.container.ContainerPlanter;
@@ -20,7 +22,7 @@ import powercrystals.minefactoryreloaded.gui.container.ContainerUpgradeable;
 import powercrystals.minefactoryreloaded.setup.Machine;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 
-public class TileEntityPlanter extends TileEntityFactoryPowered {
+public class TileEntityPlanter extends TileEntityFactoryPowered implements ICandidateFilter {
 
 	protected boolean keepLastItem = false;
 
@@ -30,9 +32,24 @@ public class TileEntityPlanter extends TileEntityFactoryPowered {
 		createHAM(this, 1);
 		_areaManager.setOverrideDirection(ForgeDirection.UP);
 		_areaManager.setOriginOffset(0, 1, 0);
+		_areaManager.setCandidateFilter(this);
 		setManageSolids(true);
 	}
 
+	@Override
+	public boolean isCandidate(World world, int x, int y, int z) {
+
+		// every plantable needs room to plant into
+		Block block = world.getBlock(x, y, z);
+		return block.isAir(world, x, y, z) || block.isReplaceable(world, x, y, z);
+	}
+
+	@Override
+	public void onCandidatesAvailable() {
+
+		setIdleTicks(0);
+	}
+
 	@Override
 	@SideOnly(Side.CLIENT)
 	public GuiFactoryInventory getGui(InventoryPlayer inventoryPlayer) {
@@ -49,13 +66,17 @@ public class TileEntityPlanter extends TileEntityFactoryPowered {
 	@Override
 	public boolean activateMachine() {
 
-		BlockPosition bp = _areaManager.getNextBlock();
-		if (!worldObj.blockExists(bp.x, bp.y, bp.z)) {
+		if (!_areaManager.nextBlock()) {
+			setIdleTicks(getIdleTicksMax());
+			return false;
+		}
+		int x = _areaManager.getBlockX(), y = _areaManager.getBlockY(), z = _areaManager.getBlockZ();
+		if (!worldObj.blockExists(x, y, z)) {
 			setIdleTicks(getIdleTicksMax());
 			return false;
 		}
 
-		ItemStack match = _inventory[getPlanterSlotIdFromBp(bp)];
+		ItemStack match = _inventory[getPlanterSlotIdFromBp(x, z)];
 
 		for (int stackIndex = 10; stackIndex <= 25; stackIndex++) {
 			ItemStack availableStack = getStackInSlot(stackIndex);
@@ -75,14 +96,14 @@ public class TileEntityPlanter extends TileEntityFactoryPowered {
 			IFactoryPlantable plantable = MFRRegistry.getPlantables().get(availableStack.getItem());
 
 			if (!plantable.canBePlanted(availableStack, false) ||
-					!plantable.canBePlantedHere(worldObj, bp.x, bp.y, bp.z, availableStack))
+					!plantable.canBePlantedHere(worldObj, x, y, z, availableStack))
 				continue;
 
-			plantable.prePlant(worldObj, bp.x, bp.y, bp.z, availableStack);
-			ReplacementBlock block = plantable.getPlantedBlock(worldObj, bp.x, bp.y, bp.z, availableStack);
-			if (block == null || !block.replaceBlock(worldObj, bp.x, bp.y, bp.z, availableStack))
+			plantable.prePlant(worldObj, x, y, z, availableStack);
+			ReplacementBlock block = plantable.getPlantedBlock(worldObj, x, y, z, availableStack);
+			if (block == null || !block.replaceBlock(worldObj, x, y, z, availableStack))
 				continue;
-			plantable.postPlant(worldObj, bp.x, bp.y, bp.z, availableStack);
+			plantable.postPlant(worldObj, x, y, z, availableStack);
 			decrStackSize(stackIndex, 1);
 			return true;
 		}
@@ -141,11 +162,11 @@ public class TileEntityPlanter extends TileEntityFactoryPowered {
 
 	//assumes a 3x3 grid in inventory slots 0-8
 	//slot 0 is northwest, slot 2 is northeast, etc
-	protected int getPlanterSlotIdFromBp(BlockPosition bp) {
+	protected int getPlanterSlotIdFromBp(int x, int z) {
 
 		int radius = _areaManager.getRadius();
-		int xAdjusted = Math.round(1.49F * (bp.x - this.xCoord) / radius);
-		int zAdjusted = Math.round(1.49F * (bp.z - this.zCoord) / radius);
+		int xAdjusted = Math.round(1.49F * (x - this.xCoord) / radius);
+		int zAdjusted = Math.round(1.49F * (z - this.zCoord) / radius);
 		return 4 + xAdjusted + 3 * zAdjusted;
 	}
 
@@ -4,6 +4,7 @@ import cofh.core.util.fluid.FluidTankAdv;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -16,6 +17,7 @@ import net.minecraftforge.fluids.FluidStack;
 import powercrystals.minefactoryreloaded.MFRRegistry;
 import powercrystals.minefactoryreloaded.api.IFactoryRanchable;
 import powercrystals.minefactoryreloaded.api.RanchedItem;
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.core.ITankContainerBucketable;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryPowered;
@@ -25,6 +27,8 @@ import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 
 public class TileEntityRancher extends TileEntityFactoryPowered implements ITankContainerBucketable {
 
+	private final List<EntityLivingBase> _entities = new ArrayList<EntityLivingBase>();
+
 	public TileEntityRancher() {
 
 		super(Machine.Rancher);
@@ -69,7 +73,7 @@ public class TileEntityRancher extends TileEntityFactoryPowered implements ITank
 
 		boolean didDrop = false;
 
-		List<?> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB());
+		List<?> entities = EntityIndex.collect(worldObj, EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB(), _entities);
 
 		for (Object o : entities) {
 			EntityLivingBase e = (EntityLivingBase) o;
@@ -2,11 +2,10 @@ package powercrystals.minefactoryreloaded.tile.machine;
 
 import cofh.core.util.fluid.FluidTankAdv;
 import cofh.lib.util.helpers.MathHelper;
-import cofh.lib.util.position.Area;
-import cofh.lib.util.position.BlockPosition;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -23,6 +22,7 @@ import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.core.ITankContainerBucketable;
 import powercrystals.minefactoryreloaded.core.MFRLiquidMover;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
@@ -36,6 +36,8 @@ public class TileEntitySewer extends TileEntityFactoryInventory implements ITank
 	private boolean _jammed;
 	private int _tick;
 	private long _nextSewerCheckTick;
+	private final List<EntityXPOrb> _orbs = new ArrayList<EntityXPOrb>();
+	private final List<EntityLivingBase> _entities = new ArrayList<EntityLivingBase>();
 
 	public TileEntitySewer() {
 
@@ -74,16 +76,18 @@ public class TileEntitySewer extends TileEntityFactoryInventory implements ITank
 		_tick++;
 
 		if (_nextSewerCheckTick <= worldObj.getTotalWorldTime()) {
-			Area a = new Area(BlockPosition.fromRotateableTile(this), _areaManager.getRadius(), 2, 2);
+			int r = _areaManager.getRadius();
 			_jammed = false;
-			for (BlockPosition bp : a.getPositionsBottomFirst()) {
-				if (worldObj.getBlock(bp.x, bp.y, bp.z).equals(_machine.getBlock()) &&
-						worldObj.getBlockMetadata(bp.x, bp.y, bp.z) == _machine.getMeta() &&
-						!(bp.x == xCoord && bp.y == yCoord && bp.z == zCoord)) {
-					_jammed = true;
-					break;
-				}
-			}
+			jam: for (int y = yCoord - 2; y <= yCoord + 2; ++y)
+				for (int x = xCoord - r; x <= xCoord + r; ++x)
+					for (int z = zCoord - r; z <= zCoord + r; ++z) {
+						if (worldObj.getBlock(x, y, z).equals(_machine.getBlock()) &&
+								worldObj.getBlockMetadata(x, y, z) == _machine.getMeta() &&
+								!(x == xCoord && y == yCoord && z == zCoord)) {
+							_jammed = true;
+							break jam;
+						}
+					}
 
 			_nextSewerCheckTick = worldObj.getTotalWorldTime() + 800 + worldObj.rand.nextInt(800);
 		}
@@ -99,7 +103,7 @@ public class TileEntitySewer extends TileEntityFactoryInventory implements ITank
 					break l;
 				}
 
-				List<EntityXPOrb> entities = worldObj.getEntitiesWithinAABB(EntityXPOrb.class, box);
+				List<EntityXPOrb> entities = EntityIndex.collect(worldObj, EntityXPOrb.class, box, _orbs);
 				for (EntityXPOrb orb : entities) {
 					if (!orb.isDead) {
 						if (MFRLiquidMover.fillTankWithXP(_tanks[1], orb) == 0)
@@ -108,7 +112,7 @@ public class TileEntitySewer extends TileEntityFactoryInventory implements ITank
 				}
 			}
 
-			List<EntityLivingBase> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, box);
+			List<EntityLivingBase> entities = EntityIndex.collect(worldObj, EntityLivingBase.class, box, _entities);
 			for (EntityLivingBase o : entities) {
 				if (o instanceof EntityAnimal || o instanceof EntityVillager || (o.isSneaking() && o instanceof EntityPlayer)) {
 					if (o.getEntityData().getLong("mfr:sewerTime") > worldTime) {
@@ -11,6 +11,7 @@ import net.minecraft.world.World;
 import net.minecraftforge.fluids.FluidRegistry;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.core.GrindingDamage;
 import powercrystals.minefactoryreloaded.setup.Machine;
 
@@ -44,17 +45,14 @@ public class TileEntitySlaughterhouse extends TileEntityGrinder
 	public boolean activateMachine()
 	{
 		_grindingWorld.cleanReferences();
-		List<?> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB());
+		List<?> entities = EntityIndex.collect(worldObj, EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB(), _entities);
 
 		entityList: for(Object o : entities)
 		{
 			EntityLivingBase e = (EntityLivingBase)o;
-			for(Class<?> t : MFRRegistry.getSlaughterhouseBlacklist())
+			if(MFRRegistry.getEntityClassInfo(e.getClass()).slaughterhouseBlacklisted)
 			{
-				if(t.isInstance(e))
-				{
-					continue entityList;
-				}
+				continue entityList;
 			}
 			if((e instanceof EntityAgeable && ((EntityAgeable)e).getGrowingAge() < 0) || e.isEntityInvulnerable() ||
 					e.getHealth() <= 0 || !_grindingWorld.addEntityForGrinding(e))
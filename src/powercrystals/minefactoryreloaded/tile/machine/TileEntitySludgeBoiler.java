@@ -7,6 +7,7 @@ import cofh.lib.util.position.BlockPosition;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -23,6 +24,7 @@ import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
 
 import powercrystals.minefactoryreloaded.MFRRegistry;
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.core.ITankContainerBucketable;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryPowered;
@@ -36,6 +38,7 @@ public class TileEntitySludgeBoiler extends TileEntityFactoryPowered implements
 	private Random _rand;
 	private int _tick;
 	private Area _area;
+	private final List<EntityLivingBase> _entities = new ArrayList<EntityLivingBase>();
 
 	public TileEntitySludgeBoiler()
 	{
@@ -98,7 +101,7 @@ public class TileEntitySludgeBoiler extends TileEntityFactoryPowered implements
 
 			if (_tick >= 23)
 			{
-				List<EntityLivingBase> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, _area.toAxisAlignedBB());
+				List<EntityLivingBase> entities = EntityIndex.collect(worldObj, EntityLivingBase.class, _area.toAxisAlignedBB(), _entities);
 				for (EntityLivingBase ent : entities)
 				{
 					ent.addPotionEffect(new PotionEffect(Potion.hunger.id, 20 * 20, 0));
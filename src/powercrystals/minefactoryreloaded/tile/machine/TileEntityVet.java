@@ -3,6 +3,7 @@ package powercrystals.minefactoryreloaded.tile.machine;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import net.minecraft.entity.EntityLivingBase;
@@ -12,6 +13,7 @@ import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.item.ItemStack;
 
 import powercrystals.minefactoryreloaded.api.ISyringe;
+import powercrystals.minefactoryreloaded.core.EntityIndex;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryInventory;
 import powercrystals.minefactoryreloaded.gui.client.GuiFactoryPowered;
 import powercrystals.minefactoryreloaded.gui.container.ContainerFactoryPowered;
@@ -20,6 +22,8 @@ import powercrystals.minefactoryreloaded.tile.base.TileEntityFactoryPowered;
 
 public class TileEntityVet extends TileEntityFactoryPowered
 {
+	private final List<EntityLivingBase> _entities = new ArrayList<EntityLivingBase>();
+
 	public TileEntityVet()
 	{
 		super(Machine.Vet);
@@ -56,7 +60,7 @@ public class TileEntityVet extends TileEntityFactoryPowered
 	@Override
 	public boolean activateMachine()
 	{
-		List<?> entities = worldObj.getEntitiesWithinAABB(EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB());
+		List<?> entities = EntityIndex.collect(worldObj, EntityLivingBase.class, _areaManager.getHarvestArea().toAxisAlignedBB(), _entities);
 		for(Object o : entities)
 		{
 			if(!(o instanceof EntityLivingBase) || o instanceof EntityPlayer || o instanceof EntityMob)
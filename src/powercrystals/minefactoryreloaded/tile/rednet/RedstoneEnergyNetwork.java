@@ -2,32 +2,47 @@ package powercrystals.minefactoryreloaded.tile.rednet;
 
 import cofh.api.energy.EnergyStorage;
 import cofh.lib.util.LinkedHashList;
-import cofh.lib.util.position.BlockPosition;
+
+import java.util.List;
 
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
 import powercrystals.minefactoryreloaded.core.ArrayHashList;
+import powercrystals.minefactoryreloaded.core.EdgeList;
+import powercrystals.minefactoryreloaded.core.GridSplitter;
 import powercrystals.minefactoryreloaded.core.IGrid;
 import powercrystals.minefactoryreloaded.net.GridTickHandler;
+import powercrystals.minefactoryreloaded.setup.MFRConfig;
 
-public class RedstoneEnergyNetwork implements IGrid {
+public class RedstoneEnergyNetwork implements IGrid, GridSplitter.IConnectivity<TileEntityRedNetEnergy> {
 
 	public static final int TRANSFER_RATE = 2560;
 	public static final int STORAGE = TRANSFER_RATE * 6;
+	// ticks a machine that refused energy is left alone when distributing by demand
+	private static final int REFUSAL_BACKOFF = 10;
 	static final GridTickHandler<RedstoneEnergyNetwork, TileEntityRedNetEnergy> HANDLER =
 			GridTickHandler.energy;
 
 	private ArrayHashList<TileEntityRedNetEnergy> nodeSet = new ArrayHashList<TileEntityRedNetEnergy>();
 	private LinkedHashList<TileEntityRedNetEnergy> conduitSet;
+	private EdgeList<TileEntityRedNetEnergy> edges = new EdgeList<TileEntityRedNetEnergy>();
 	private TileEntityRedNetEnergy master;
 	private int overflowSelector;
 	private boolean regenerating = false;
+	private int idleTicks;
+	private boolean sleeping, moved;
+	private final boolean demandWeighted = MFRConfig.gridEnergyDemandWeighted.getBoolean(false);
+	private int[] demand = new int[8];
+	private final GridSplitter<TileEntityRedNetEnergy> splitter = new GridSplitter<TileEntityRedNetEnergy>(this);
 	EnergyStorage storage = new EnergyStorage(480, 80);
 
+	// the share of each conduit and of each side; round-robin distribution only
 	public int distribution;
 	public int distributionSide;
+	// the energy asked for by every attached machine together; demand-weighted distribution only
+	public int demanded;
 
 	protected RedstoneEnergyNetwork() {
 		storage.setCapacity(STORAGE);
@@ -51,16 +66,21 @@ public class RedstoneEnergyNetwork implements IGrid {
 	}
 
 	public boolean addConduit(TileEntityRedNetEnergy cond) {
-		if (conduitSet.add(cond))
+		idleTicks = 0;
+		if (conduitSet.add(cond)) {
+			splitter.added(cond);
 			if (!conduitAdded(cond))
 				return false;
+		}
 		if (cond.isNode) {
 			if (nodeSet.add(cond)) {
 				nodeAdded(cond);
 			}
+			edges.set(cond, cond.getInterfaceSides());
 		} else if (!nodeSet.isEmpty()) {
 			int share = getNodeShare(cond);
 			if (nodeSet.remove(cond)) {
+				edges.remove(cond);
 				cond.energyForGrid = storage.extractEnergy(share, false);
 				nodeRemoved(cond);
 			}
@@ -69,10 +89,13 @@ public class RedstoneEnergyNetwork implements IGrid {
 	}
 
 	public void removeConduit(TileEntityRedNetEnergy cond) {
-		conduitSet.remove(cond);
+		idleTicks = 0;
+		if (conduitSet.remove(cond))
+			splitter.removed();
 		if (!nodeSet.isEmpty()) {
 			int share = getNodeShare(cond);
 			if (nodeSet.remove(cond)) {
+				edges.remove(cond);
 				cond.energyForGrid = storage.extractEnergy(share, false);
 				nodeRemoved(cond);
 			}
@@ -80,60 +103,46 @@ public class RedstoneEnergyNetwork implements IGrid {
 	}
 
 	public void regenerate() {
+		splitter.requestSweep();
+		scheduleRegeneration();
+	}
+
+	/**
+	 * Regenerates from the conduits that were connected to a removed conduit, rather than the whole grid.
+	 */
+	public void regenerate(List<TileEntityRedNetEnergy> neighbours) {
+		for (TileEntityRedNetEnergy cond : neighbours)
+			splitter.addSeed(cond);
+		scheduleRegeneration();
+	}
+
+	private void scheduleRegeneration() {
 		regenerating = true;
 		HANDLER.regenerateGrid(this);
 	}
 
+	/**
+	 * Brings a dormant grid back to ticking every tick.
+	 */
+	public void wake() {
+		idleTicks = 0;
+	}
+
 	public boolean isRegenerating() {
 		return regenerating;
 	}
 
 	@Override
-	public void markSweep() {
-		destroyGrid();
-		if (conduitSet.isEmpty())
-			return;
-		TileEntityRedNetEnergy main = conduitSet.poke();
-		LinkedHashList<TileEntityRedNetEnergy> oldSet = conduitSet;
-		nodeSet.clear();
-		conduitSet = new LinkedHashList<TileEntityRedNetEnergy>(Math.min(oldSet.size() / 6, 5));
-
-		LinkedHashList<TileEntityRedNetEnergy> toCheck = new LinkedHashList<TileEntityRedNetEnergy>();
-		LinkedHashList<TileEntityRedNetEnergy> checked = new LinkedHashList<TileEntityRedNetEnergy>();
-		BlockPosition bp = new BlockPosition(0,0,0);
-		ForgeDirection[] dir = ForgeDirection.VALID_DIRECTIONS;
-		toCheck.add(main);
-		checked.add(main);
-		while (!toCheck.isEmpty()) {
-			main = toCheck.shift();
-			addConduit(main);
-			World world = main.getWorldObj();
-			for (int i = 6; i --> 0; ) {
-				bp.x = main.xCoord; bp.y = main.yCoord; bp.z = main.zCoord;
-				bp.step(dir[i]);
-				if (world.blockExists(bp.x, bp.y, bp.z)) {
-					TileEntity te = bp.getTileEntity(world);
-					if (te instanceof TileEntityRedNetEnergy) {
-						TileEntityRedNetEnergy ter = (TileEntityRedNetEnergy)te;
-						if (main.canInterface(ter, dir[i^1]) && checked.add(ter))
-							toCheck.add(ter);
-					}
-				}
-			}
-			oldSet.remove(main);
-		}
-		if (!oldSet.isEmpty()) {
-			RedstoneEnergyNetwork newGrid = new RedstoneEnergyNetwork();
-			newGrid.conduitSet = oldSet;
-			newGrid.regenerating = true;
-			newGrid.markSweep();
-		}
+	public boolean markSweep(long deadline) {
+		if (!splitter.run(conduitSet, deadline))
+			return false;
 		if (nodeSet.isEmpty())
 			HANDLER.removeGrid(this);
 		else
 			HANDLER.addGrid(this);
 		rebalanceGrid();
 		regenerating = false;
+		return true;
 	}
 
 	public void destroyGrid() {
@@ -163,29 +172,47 @@ public class RedstoneEnergyNetwork implements IGrid {
 			HANDLER.removeGrid(this);
 			return;
 		}
+		int delay = GridTickHandler.getDormantDelay();
+		// dormant grids only look for work every delay ticks, unless woken up sooner
+		sleeping = delay > 0 && idleTicks >= delay && ++idleTicks % delay != 0;
+		moved = false;
+		if (sleeping)
+			return;
 		EnergyStorage tank = storage;
 		if (tank.getEnergyStored() >= tank.getMaxEnergyStored())
 			return;
-		ForgeDirection[] directions = ForgeDirection.VALID_DIRECTIONS;
+		int stored = tank.getEnergyStored();
+		EdgeList<TileEntityRedNetEnergy> edges = this.edges;
 
-		for (TileEntityRedNetEnergy cond : nodeSet)
-			for (int i = 6; i --> 0; )
-				cond.extract(directions[i], tank);
+		for (int i = 0, e = edges.size(); i < e; ++i)
+			edges.getNode(i).extract(edges.getSide(i), tank);
+		moved = tank.getEnergyStored() != stored;
 	}
 
 	@Override
 	public void doGridUpdate() {
-		if (regenerating)
+		if (regenerating | sleeping)
 			return;
 		if (nodeSet.isEmpty()) {
 			HANDLER.removeGrid(this);
 			return;
 		}
+		int stored = storage.getEnergyStored();
+		if (stored > 0)
+			if (demandWeighted)
+				distributeByDemand();
+			else
+				distribute();
+		if (moved | storage.getEnergyStored() != stored)
+			idleTicks = 0;
+		else
+			++idleTicks;
+	}
+
+	private void distribute() {
 		EnergyStorage storage = this.storage;
-		if (storage.getEnergyStored() <= 0)
-			return;
-		ForgeDirection[] directions = ForgeDirection.VALID_DIRECTIONS;
-		int size = nodeSet.size();
+		EdgeList<TileEntityRedNetEnergy> edges = this.edges;
+		int size = nodeSet.size(), count = edges.size();
 		int toDistribute = storage.getEnergyStored() / size;
 		int sideDistribute = toDistribute / 6;
 
@@ -195,30 +222,114 @@ public class RedstoneEnergyNetwork implements IGrid {
 		int overflow = overflowSelector = (overflowSelector + 1) % size;
 		TileEntityRedNetEnergy master = nodeSet.get(overflow);
 
-		if (sideDistribute > 0) for (TileEntityRedNetEnergy cond : nodeSet)
+		if (sideDistribute > 0) for (int i = 0; i < count; ++i) {
+			TileEntityRedNetEnergy cond = edges.getNode(i);
 			if (cond != master) {
-				int e = 0;
-				for (int i = 6; i --> 0; )
-					e += cond.transfer(directions[i], sideDistribute);
+				int e = cond.transfer(edges.getSide(i), sideDistribute);
 				if (e > 0) storage.modifyEnergyStored(-e);
 			}
+		}
 
 		toDistribute += storage.getEnergyStored() % size;
 		sideDistribute = toDistribute / 6;
 
 		if (sideDistribute > 0) {
 			int e = 0;
-			for (int i = 6; i --> 0; )
-				e += master.transfer(directions[i], sideDistribute);
+			for (int i = 0; i < count; ++i)
+				if (edges.getNode(i) == master)
+					e += master.transfer(edges.getSide(i), sideDistribute);
 			if (e > 0) storage.modifyEnergyStored(-e);
 		} else if (toDistribute > 0) {
 			int e = 0;
-			for (int i = 6; i --> 0 && e < toDistribute; )
-				e += master.transfer(directions[i], toDistribute - e);
+			for (int i = 0; i < count && e < toDistribute; ++i)
+				if (edges.getNode(i) == master)
+					e += master.transfer(edges.getSide(i), toDistribute - e);
 			if (e > 0) storage.modifyEnergyStored(-e);
 		}
 	}
 
+	/**
+	 * Asks every attached machine how much energy it wants, then hands out stored energy in proportion to that in a
+	 * single pass. An edge's data holds the ticks left before a machine that refused energy is asked again.
+	 */
+	private void distributeByDemand() {
+		EnergyStorage storage = this.storage;
+		EdgeList<TileEntityRedNetEnergy> edges = this.edges;
+		int count = edges.size();
+		int[] demand = this.demand;
+		if (demand.length < count)
+			this.demand = demand = new int[count];
+		int available = storage.getEnergyStored();
+		int offer = Math.min(available, TRANSFER_RATE);
+
+		long total = 0;
+		for (int i = 0; i < count; ++i) {
+			int d = 0, wait = edges.getData(i);
+			if (wait > 0)
+				edges.setData(i, wait - 1);
+			else if ((d = edges.getNode(i).demand(edges.getSide(i), offer)) <= 0)
+				edges.setData(i, REFUSAL_BACKOFF);
+			demand[i] = Math.max(d, 0);
+			total += demand[i];
+		}
+
+		demanded = (int) Math.min(total, Integer.MAX_VALUE);
+		if (total <= 0)
+			return;
+
+		for (int i = 0; i < count; ++i) {
+			if (demand[i] <= 0)
+				continue;
+			int amt = total <= available ? demand[i] : (int) (demand[i] * (long) available / total);
+			if (amt <= 0)
+				continue;
+			int e = edges.getNode(i).transfer(edges.getSide(i), amt);
+			if (e > 0)
+				storage.modifyEnergyStored(-e);
+			else
+				edges.setData(i, REFUSAL_BACKOFF);
+		}
+	}
+
+	@Override
+	public boolean ownsConduit(TileEntityRedNetEnergy cond) {
+		return cond._grid == this;
+	}
+
+	@Override
+	public void getConnections(TileEntityRedNetEnergy cond, List<TileEntityRedNetEnergy> out) {
+		World world = cond.getWorldObj();
+		ForgeDirection[] dir = ForgeDirection.VALID_DIRECTIONS;
+		for (int i = 6; i --> 0; ) {
+			int x = cond.xCoord + dir[i].offsetX, y = cond.yCoord + dir[i].offsetY, z = cond.zCoord + dir[i].offsetZ;
+			if (world.blockExists(x, y, z)) {
+				TileEntity te = world.getTileEntity(x, y, z);
+				if (te instanceof TileEntityRedNetEnergy) {
+					TileEntityRedNetEnergy ter = (TileEntityRedNetEnergy)te;
+					if (ter._grid == this && cond.canInterface(ter, dir[i^1]))
+						out.add(ter);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void splitOff(List<TileEntityRedNetEnergy> conduits, boolean connected) {
+		RedstoneEnergyNetwork newGrid = new RedstoneEnergyNetwork();
+		newGrid.conduitSet = new LinkedHashList<TileEntityRedNetEnergy>(Math.max(conduits.size(), 5));
+		for (TileEntityRedNetEnergy cond : conduits) {
+			removeConduit(cond);
+			cond._grid = null;
+		}
+		newGrid.regenerating = true;
+		for (TileEntityRedNetEnergy cond : conduits)
+			newGrid.addConduit(cond);
+		newGrid.rebalanceGrid();
+		newGrid.regenerating = false;
+		if (!connected)
+			newGrid.regenerate();
+	}
+
 	public boolean canMergeGrid(RedstoneEnergyNetwork otherGrid) {
 		if (otherGrid == null) return false;
 		return true;
@@ -227,9 +338,10 @@ public class RedstoneEnergyNetwork implements IGrid {
 	public void mergeGrid(RedstoneEnergyNetwork grid) {
 		if (grid == this) return;
 		boolean r = regenerating || grid.regenerating;
+		splitter.takeSeeds(grid.splitter);
 		grid.destroyGrid();
 		if (!regenerating & r)
-			regenerate();
+			scheduleRegeneration();
 
 		regenerating = true;
 		for (TileEntityRedNetEnergy cond : grid.conduitSet)
@@ -238,6 +350,7 @@ public class RedstoneEnergyNetwork implements IGrid {
 
 		grid.conduitSet.clear();
 		grid.nodeSet.clear();
+		grid.edges.clear();
 	}
 
 	public void nodeAdded(TileEntityRedNetEnergy cond) {
@@ -280,6 +393,7 @@ public class RedstoneEnergyNetwork implements IGrid {
 		storage.setCapacity(nodeSet.size() * STORAGE);
 	}
 
+	@Override
 	public int getConduitCount() {
 		return conduitSet.size();
 	}
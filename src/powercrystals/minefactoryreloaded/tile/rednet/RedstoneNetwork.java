@@ -6,8 +6,7 @@ import cofh.lib.util.LinkedHashList;
 import cofh.lib.util.position.BlockPosition;
 
 import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.List;
 
 import net.minecraft.block.Block;
 import net.minecraft.init.Blocks;
@@ -23,39 +22,48 @@ import powercrystals.minefactoryreloaded.api.rednet.IRedNetInputNode;
 import powercrystals.minefactoryreloaded.api.rednet.IRedNetOutputNode;
 import powercrystals.minefactoryreloaded.api.rednet.connectivity.IRedstoneAlike;
 import powercrystals.minefactoryreloaded.core.ArrayHashList;
+import powercrystals.minefactoryreloaded.core.GridSplitter;
 import powercrystals.minefactoryreloaded.core.IGrid;
+import powercrystals.minefactoryreloaded.core.LinkedLongSet;
 import powercrystals.minefactoryreloaded.core.MFRUtil;
 import powercrystals.minefactoryreloaded.net.GridTickHandler;
 import powercrystals.minefactoryreloaded.setup.MFRConfig;
 import powercrystals.minefactoryreloaded.setup.MFRThings;
 
-public class RedstoneNetwork implements IGrid {
+public class RedstoneNetwork implements IGrid, GridSplitter.IConnectivity<TileEntityRedNetCable> {
 
 	static final GridTickHandler<RedstoneNetwork, TileEntityRedNetCable> HANDLER =
 			GridTickHandler.redstone;
+	// the side bits of a node key are never 7, so this can't be a real node
+	private static final long NO_NODE = -1L;
 
 	private boolean _ignoreUpdates;
 
-	private boolean _mustUpdate, updatePowerLevels;
-	private boolean[] _updateSubnets = new boolean[16];
+	private boolean updatePowerLevels;
+	// one bit per subnet whose level may have changed since its nodes were last notified
+	private int _dirtySubnets;
+	// the levels single nodes were last notified of, per subnet
+	private int[] _notifiedLevels = new int[16];
+	// nodes added or updated while a notification was pending, that have not been told the current levels yet
+	private LinkedLongSet _pendingNodes = new LinkedLongSet();
 
-	@SuppressWarnings("unchecked")
-	// cast is a warning too. using a generic type is an error?
-	private Set<BlockPosition>[] _singleNodes = new Set[16];
-	private Set<BlockPosition> _omniNodes = new LinkedHashSet<BlockPosition>();
+	// nodes are keyed by position and the side of the cable they are on; see nodeKey
+	private LinkedLongSet[] _singleNodes = new LinkedLongSet[16];
+	private LinkedLongSet _omniNodes = new LinkedLongSet();
 
-	private Set<BlockPosition> _weakNodes = new LinkedHashSet<BlockPosition>();
+	private LinkedLongSet _weakNodes = new LinkedLongSet();
 
 	private boolean regenerating;
 	private ArrayHashList<TileEntityRedNetCable> nodeSet = new ArrayHashList<TileEntityRedNetCable>();
 	private LinkedHashList<TileEntityRedNetCable> conduitSet;
+	private final GridSplitter<TileEntityRedNetCable> splitter = new GridSplitter<TileEntityRedNetCable>(this);
 
 	private int[] _powerLevelOutput = new int[16];
-	private BlockPosition[] _powerProviders = new BlockPosition[16];
+	private long[] _powerProviders = new long[16];
 
 	private World _world;
 
-	private static boolean log = false;
+	static boolean log = false;
 	private static Logger _log = LogManager.getLogger("RedNet Debug", StringFormatterMessageFactory.INSTANCE);
 
 	public static void log(String format, Object... data) {
@@ -71,7 +79,8 @@ public class RedstoneNetwork implements IGrid {
 		log = MFRConfig.redNetDebug.getBoolean(false);
 
 		for (int i = 0; i < 16; i++)
-			_singleNodes[i] = new LinkedHashSet<BlockPosition>();
+			_singleNodes[i] = new LinkedLongSet();
+		Arrays.fill(_powerProviders, NO_NODE);
 	}
 
 	public RedstoneNetwork(TileEntityRedNetCable base) {
@@ -86,18 +95,18 @@ public class RedstoneNetwork implements IGrid {
 	@Override
 	public void doGridPreUpdate() {
 
-		// may be able to not tick at all if _mustUpdate and updatePowerLevels are false
-		if (_mustUpdate) {
-			for (int i = 16; i-- > 0;)
-				if (_updateSubnets[i])
-					notifyNodes(i);
-			_mustUpdate = false;
-		}
+		if (regenerating)
+			return;
+		// may be able to not tick at all if nothing is dirty and updatePowerLevels is false
+		if (_dirtySubnets != 0 || !_pendingNodes.isEmpty())
+			notifyNodes();
 	}
 
 	@Override
 	public void doGridUpdate() {
 
+		if (regenerating)
+			return;
 		if (updatePowerLevels) {
 			updatePowerLevels();
 			updatePowerLevels = false;
@@ -106,9 +115,11 @@ public class RedstoneNetwork implements IGrid {
 
 	public void addConduit(TileEntityRedNetCable cond) {
 
-		if (conduitSet.add(cond))
+		if (conduitSet.add(cond)) {
+			splitter.added(cond);
 			if (!conduitAdded(cond))
 				return;
+		}
 		if (cond.isRSNode) {
 			if (nodeSet.add(cond)) {
 				nodeAdded(cond);
@@ -122,7 +133,8 @@ public class RedstoneNetwork implements IGrid {
 
 	public void removeConduit(TileEntityRedNetCable cond) {
 
-		conduitSet.remove(cond);
+		if (conduitSet.remove(cond))
+			splitter.removed();
 		if (!nodeSet.isEmpty()) {
 			if (nodeSet.remove(cond)) {
 				nodeRemoved(cond);
@@ -131,67 +143,69 @@ public class RedstoneNetwork implements IGrid {
 	}
 
 	@Override
-	public void markSweep() {
+	public boolean markSweep(long deadline) {
 
-		destroyGrid();
-		if (conduitSet.isEmpty())
-			return;
-		TileEntityRedNetCable main = conduitSet.iterator().next();
-		nodeSet.clear();
-		//{ clearing nodes
-		_omniNodes.clear();
-		_weakNodes.clear();
-		for (Set<BlockPosition> a : _singleNodes)
-			a.clear();
-		//}
-		LinkedHashList<TileEntityRedNetCable> oldSet = conduitSet;
-		conduitSet = new LinkedHashList<TileEntityRedNetCable>(Math.min(oldSet.size() / 6, 5));
-
-		LinkedHashList<TileEntityRedNetCable> toCheck = new LinkedHashList<TileEntityRedNetCable>();
-		LinkedHashList<TileEntityRedNetCable> checked = new LinkedHashList<TileEntityRedNetCable>();
-		BlockPosition bp = new BlockPosition(0, 0, 0);
-		ForgeDirection[] dir = ForgeDirection.VALID_DIRECTIONS;
-		toCheck.add(main);
-		checked.add(main);
-		while (!toCheck.isEmpty()) {
-			main = toCheck.shift();
-			addConduit(main);
-			World world = main.getWorldObj();
-			for (int i = 6; i-- > 0;) {
-				bp.x = main.xCoord;
-				bp.y = main.yCoord;
-				bp.z = main.zCoord;
-				bp.step(dir[i]);
-				if (world.blockExists(bp.x, bp.y, bp.z)) {
-					TileEntity te = bp.getTileEntity(world);
-					if (te instanceof TileEntityRedNetCable) {
-						TileEntityRedNetCable tec = (TileEntityRedNetCable) te;
-						if (main.canInterface(tec, dir[i]) && checked.add(tec))
-							toCheck.add(tec);
-					}
-				}
-			}
-			oldSet.remove(main);
-		}
-		if (!oldSet.isEmpty()) {
-			RedstoneNetwork newGrid = new RedstoneNetwork(_world);
-			newGrid.conduitSet = oldSet;
-			newGrid.regenerating = true;
-			newGrid.markSweep();
-		}
+		if (!splitter.run(conduitSet, deadline))
+			return false;
 		if (nodeSet.isEmpty())
 			HANDLER.removeGrid(this);
 		else
 			HANDLER.addGrid(this);
 		regenerating = false;
 		updatePowerLevels = true;
+		return true;
+	}
+
+	@Override
+	public boolean ownsConduit(TileEntityRedNetCable cond) {
+
+		return cond._network == this;
+	}
+
+	@Override
+	public void getConnections(TileEntityRedNetCable cond, List<TileEntityRedNetCable> out) {
+
+		World world = cond.getWorldObj();
+		ForgeDirection[] dir = ForgeDirection.VALID_DIRECTIONS;
+		for (int i = 6; i-- > 0;) {
+			int x = cond.xCoord + dir[i].offsetX, y = cond.yCoord + dir[i].offsetY, z = cond.zCoord + dir[i].offsetZ;
+			if (world.blockExists(x, y, z)) {
+				TileEntity te = world.getTileEntity(x, y, z);
+				if (te instanceof TileEntityRedNetCable) {
+					TileEntityRedNetCable tec = (TileEntityRedNetCable) te;
+					if (tec._network == this && cond.canInterface(tec, dir[i]))
+						out.add(tec);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void splitOff(List<TileEntityRedNetCable> conduits, boolean connected) {
+
+		RedstoneNetwork newGrid = new RedstoneNetwork(_world);
+		newGrid.conduitSet = new LinkedHashList<TileEntityRedNetCable>(Math.max(conduits.size(), 5));
+		ForgeDirection[] dirs = ForgeDirection.VALID_DIRECTIONS;
+		for (TileEntityRedNetCable cond : conduits) {
+			for (ForgeDirection d : dirs)
+				removeNode(cond.xCoord + d.offsetX, cond.yCoord + d.offsetY, cond.zCoord + d.offsetZ, d, true);
+			removeConduit(cond);
+			cond._network = null;
+		}
+		newGrid.regenerating = true;
+		for (TileEntityRedNetCable cond : conduits)
+			newGrid.addConduit(cond);
+		newGrid.regenerating = false;
+		newGrid.updatePowerLevels = true;
+		if (!connected)
+			newGrid.regenerate();
 	}
 
 	public void destroyGrid() {
 
 		regenerating = true;
 		Arrays.fill(_powerLevelOutput, 0);
-		Arrays.fill(_powerProviders, null);
+		Arrays.fill(_powerProviders, NO_NODE);
 		for (TileEntityRedNetCable curCond : nodeSet)
 			destroyNode(curCond);
 		for (TileEntityRedNetCable curCond : conduitSet)
@@ -250,9 +264,10 @@ public class RedstoneNetwork implements IGrid {
 
 		if (grid == this) return;
 		boolean r = regenerating || grid.regenerating;
+		splitter.takeSeeds(grid.splitter);
 		grid.destroyGrid();
 		if (!regenerating & r)
-			regenerate();
+			scheduleRegeneration();
 
 		regenerating = true;
 		for (TileEntityRedNetCable cond : grid.conduitSet)
@@ -265,6 +280,22 @@ public class RedstoneNetwork implements IGrid {
 
 	public void regenerate() {
 
+		splitter.requestSweep();
+		scheduleRegeneration();
+	}
+
+	/**
+	 * Regenerates from the cables that were connected to a removed cable, rather than the whole network.
+	 */
+	public void regenerate(List<TileEntityRedNetCable> neighbours) {
+
+		for (TileEntityRedNetCable cond : neighbours)
+			splitter.addSeed(cond);
+		scheduleRegeneration();
+	}
+
+	private void scheduleRegeneration() {
+
 		regenerating = true;
 		HANDLER.regenerateGrid(this);
 	}
@@ -274,6 +305,7 @@ public class RedstoneNetwork implements IGrid {
 		return regenerating;
 	}
 
+	@Override
 	public int getConduitCount() {
 
 		return conduitSet.size();
@@ -293,7 +325,13 @@ public class RedstoneNetwork implements IGrid {
 	boolean isPowerProvider(int subnet, BlockPosition node)
 	{
 
-		return node.equals(_powerProviders[subnet]);
+		return isPowerProvider(subnet, node.x, node.y, node.z, node.orientation);
+	}
+
+	boolean isPowerProvider(int subnet, int x, int y, int z, ForgeDirection side)
+	{
+
+		return _powerProviders[subnet] == nodeKey(x, y, z, side);
 	}
 
 	@Override
@@ -302,22 +340,73 @@ public class RedstoneNetwork implements IGrid {
 		return "RedstoneNetwork@" + Integer.toString(hashCode()) + "; regenerating:" + regenerating + "; isTicking:" + HANDLER.isGridTicking(this);
 	}
 
+	//{ node keys: x and z in 26 bits, y in 9 and the side in 3
+
+	static long nodeKey(int x, int y, int z, ForgeDirection side) {
+
+		return ((x & 0x3FFFFFFL) << 38) | ((z & 0x3FFFFFFL) << 12) | ((y & 0x1FFL) << 3) | side.ordinal();
+	}
+
+	static int nodeX(long node) {
+
+		return (int) (node >> 38);
+	}
+
+	static int nodeY(long node) {
+
+		return (int) (node << 52 >> 55);
+	}
+
+	static int nodeZ(long node) {
+
+		return (int) (node << 26 >> 38);
+	}
+
+	static ForgeDirection nodeSide(long node) {
+
+		return ForgeDirection.getOrientation((int) (node & 7));
+	}
+
+	private static String nodeString(long node) {
+
+		return "(" + nodeX(node) + ", " + nodeY(node) + ", " + nodeZ(node) + ", " + nodeSide(node) + ")";
+	}
+
+	private void logNode(String format, int subnet, long node) {
+
+		if (log) {
+			_log.debug(format, hashCode(), subnet, nodeString(node));
+		}
+	}
+	//}
+
 	/// OLD CODE
 
 	public boolean isWeakNode(BlockPosition node) {
 
-		return _weakNodes.contains(node);
+		return isWeakNode(node.x, node.y, node.z, node.orientation);
+	}
+
+	public boolean isWeakNode(int x, int y, int z, ForgeDirection side) {
+
+		return _weakNodes.contains(nodeKey(x, y, z, side));
 	}
 
 	public void addOrUpdateNode(BlockPosition node) {
 
-		Block block = _world.getBlock(node.x, node.y, node.z);
+		addOrUpdateNode(node.x, node.y, node.z, node.orientation);
+	}
+
+	public void addOrUpdateNode(int x, int y, int z, ForgeDirection side) {
+
+		Block block = _world.getBlock(x, y, z);
 		if (block == rednetCableBlock) {
 			return;
 		}
 
+		long node = nodeKey(x, y, z, side);
 		if (!_omniNodes.contains(node)) {
-			log("Network with ID %d adding omni node %s", hashCode(), node);
+			logNode("Network with ID %d adding omni node %3$s", 0, node);
 			_omniNodes.add(node);
 			notifyOmniNode(node);
 		}
@@ -328,34 +417,38 @@ public class RedstoneNetwork implements IGrid {
 		for (int subnet = 0; subnet < 16; subnet++) {
 			int power = powers[subnet];
 			if (Math.abs(power) > Math.abs(_powerLevelOutput[subnet])) {
-				log("Network with ID %d:%d has omni node %s as new power provider", hashCode(), subnet, node);
+				logNode("Network with ID %d:%d has omni node %s as new power provider", subnet, node);
 				_powerLevelOutput[subnet] = power;
 				_powerProviders[subnet] = node;
-				_mustUpdate = true;
-				_updateSubnets[subnet] = true;
+				_dirtySubnets |= 1 << subnet;
 			}
-			else if (node.equals(_powerProviders[subnet]) && Math.abs(power) < Math.abs(_powerLevelOutput[subnet])) {
+			else if (node == _powerProviders[subnet] && Math.abs(power) < Math.abs(_powerLevelOutput[subnet])) {
 				updatePowerLevels = true;
 			}
 		}
 
-		if (!updatePowerLevels && !_mustUpdate)
+		if (!updatePowerLevels && _dirtySubnets == 0)
 			notifyOmniNode(node);
-		else if (!_mustUpdate)
-			for (int i = 0; i < 16; ++i)
-				_updateSubnets[i] = _mustUpdate = true;
+		else
+			_pendingNodes.add(node);
 	}
 
 	public void addOrUpdateNode(BlockPosition node, int subnet, boolean allowWeak) {
 
-		Block block = _world.getBlock(node.x, node.y, node.z);
+		addOrUpdateNode(node.x, node.y, node.z, node.orientation, subnet, allowWeak);
+	}
+
+	public void addOrUpdateNode(int x, int y, int z, ForgeDirection side, int subnet, boolean allowWeak) {
+
+		Block block = _world.getBlock(x, y, z);
 		if (block == rednetCableBlock) {
 			return;
 		}
 
+		long node = nodeKey(x, y, z, side);
 		if (!_singleNodes[subnet].contains(node)) {
 			removeNode(node, false);
-			log("Network with ID %d:%d adding node %s", hashCode(), subnet, node);
+			logNode("Network with ID %d:%d adding node %s", subnet, node);
 
 			_singleNodes[subnet].add(node);
 		}
@@ -367,58 +460,69 @@ public class RedstoneNetwork implements IGrid {
 		}
 
 		int power = getSingleNodePowerLevel(node, subnet);
-		log("Network with ID %d:%d calculated power for node %s as %d", hashCode(), subnet, node, power);
+		if (log) log("Network with ID %d:%d calculated power for node %s as %d", hashCode(), subnet, nodeString(node), power);
 		if (Math.abs(power) > Math.abs(_powerLevelOutput[subnet])) {
-			log("Network with ID %d:%d has node %s as new power provider", hashCode(), subnet, node);
+			logNode("Network with ID %d:%d has node %s as new power provider", subnet, node);
 			_powerLevelOutput[subnet] = power;
 			_powerProviders[subnet] = node;
-			_mustUpdate = true;
-			_updateSubnets[subnet] = true;
-		} else if (node.equals(_powerProviders[subnet]) && Math.abs(power) < Math.abs(_powerLevelOutput[subnet])) {
-			log("Network with ID %d:%d removing power provider node, recalculating", hashCode(), subnet);
+			_dirtySubnets |= 1 << subnet;
+		} else if (node == _powerProviders[subnet] && Math.abs(power) < Math.abs(_powerLevelOutput[subnet])) {
+			logNode("Network with ID %d:%d removing power provider node %s, recalculating", subnet, node);
 			updatePowerLevels = true;
 		}
 
-		if (!updatePowerLevels && !_updateSubnets[subnet])
+		if (!updatePowerLevels && (_dirtySubnets & (1 << subnet)) == 0)
 			notifySingleNode(node, subnet);
-		else
-			_updateSubnets[subnet] = _mustUpdate = true;
+		else {
+			_dirtySubnets |= 1 << subnet;
+			_pendingNodes.add(node);
+		}
 	}
 
 	public void removeNode(BlockPosition node, boolean unloading) {
 
+		removeNode(node.x, node.y, node.z, node.orientation, unloading);
+	}
+
+	public void removeNode(int x, int y, int z, ForgeDirection side, boolean unloading) {
+
+		removeNode(nodeKey(x, y, z, side), unloading);
+	}
+
+	private void removeNode(long node, boolean unloading) {
+
 		boolean omniNode = _omniNodes.remove(node);
 		boolean notify = omniNode;
 
 		notify |= _weakNodes.remove(node);
+		_pendingNodes.remove(node);
 
 		for (int subnet = 0; subnet < 16; subnet++) {
-			if (_singleNodes[subnet].contains(node)) {
+			if (_singleNodes[subnet].remove(node)) {
 				notify = true;
-				log("Network with ID %d:%d removing node %s", hashCode(), subnet, node);
-				_singleNodes[subnet].remove(node);
+				logNode("Network with ID %d:%d removing node %s", subnet, node);
 			}
 
-			if (node.equals(_powerProviders[subnet])) {
-				log("Network with ID %d:%d removing power provider node, recalculating", hashCode(), subnet);
-				_mustUpdate = true;
-				_updateSubnets[subnet] = true;
+			if (node == _powerProviders[subnet]) {
+				logNode("Network with ID %d:%d removing power provider node %s, recalculating", subnet, node);
+				_dirtySubnets |= 1 << subnet;
 			}
 		}
 
 		if (notify & !unloading) {
-			Block block = _world.getBlock(node.x, node.y, node.z);
+			int x = nodeX(node), y = nodeY(node), z = nodeZ(node);
+			Block block = _world.getBlock(x, y, z);
 			if (block == rednetCableBlock) {
 				return;
 			}
 			else if (block instanceof IRedNetInputNode) {
 				if (omniNode)
-					((IRedNetInputNode) block).onInputsChanged(_world, node.x, node.y, node.z,
-						node.orientation.getOpposite(), new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
+					((IRedNetInputNode) block).onInputsChanged(_world, x, y, z,
+						nodeSide(node).getOpposite(), new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
 				else
-					((IRedNetInputNode) block).onInputChanged(_world, node.x, node.y, node.z, node.orientation.getOpposite(), 0);
+					((IRedNetInputNode) block).onInputChanged(_world, x, y, z, nodeSide(node).getOpposite(), 0);
 			}
-			MFRUtil.notifyNearbyBlocksExcept(_world, node.x, node.y, node.z, Blocks.air);
+			MFRUtil.notifyNearbyBlocksExcept(_world, x, y, z, Blocks.air);
 		}
 	}
 
@@ -434,11 +538,16 @@ public class RedstoneNetwork implements IGrid {
 		int lastPower = _powerLevelOutput[subnet];
 
 		_powerLevelOutput[subnet] = 0;
-		_powerProviders[subnet] = null;
+		_powerProviders[subnet] = NO_NODE;
 
 		log("Network with ID %d:%d recalculating power levels for %d single nodes and %d omni nodes", hashCode(), subnet, _singleNodes[subnet].size(), _omniNodes.size());
 
-		for (BlockPosition node : _singleNodes[subnet]) {
+		LinkedLongSet nodes = _singleNodes[subnet];
+		for (int i = 0, e = nodes.end(); i < e; ++i) {
+			if (!nodes.isLive(i)) {
+				continue;
+			}
+			long node = nodes.get(i);
 			if (!isNodeLoaded(node)) {
 				continue;
 			}
@@ -449,7 +558,12 @@ public class RedstoneNetwork implements IGrid {
 			}
 		}
 
-		for (BlockPosition node : _omniNodes) {
+		nodes = _omniNodes;
+		for (int i = 0, e = nodes.end(); i < e; ++i) {
+			if (!nodes.isLive(i)) {
+				continue;
+			}
+			long node = nodes.get(i);
 			if (!isNodeLoaded(node)) {
 				continue;
 			}
@@ -460,64 +574,101 @@ public class RedstoneNetwork implements IGrid {
 			}
 		}
 
-		log("Network with ID %d:%d recalculated power levels as: %d from %d with powering node %s", hashCode(), subnet, _powerLevelOutput[subnet], lastPower, _powerProviders[subnet]);
-		boolean u = _powerLevelOutput[subnet] != lastPower;
-		_updateSubnets[subnet] |= u;
-		_mustUpdate |= u;
+		if (log) log("Network with ID %d:%d recalculated power levels as: %d from %d with powering node %s", hashCode(), subnet, _powerLevelOutput[subnet], lastPower,
+			_powerProviders[subnet] == NO_NODE ? null : nodeString(_powerProviders[subnet]));
+		if (_powerLevelOutput[subnet] != lastPower)
+			_dirtySubnets |= 1 << subnet;
 	}
 
-	private void notifyNodes(int subnet) {
+	/**
+	 * Notifies the nodes of every dirty subnet whose level actually changed, and each omni node once with all 16
+	 * levels if any did. Nodes that were added while this was pending and not reached that way are notified last.
+	 */
+	private void notifyNodes() {
 
 		if (_ignoreUpdates) {
 			log("Network asked to notify nodes while ignoring updates (API misuse?)!");
-			_mustUpdate = true;
-			_updateSubnets[subnet] = true;
 			return;
 		}
-		_updateSubnets[subnet] = false;
+		int dirty = _dirtySubnets, changed = 0;
+		_dirtySubnets = 0;
+		for (int subnet = 16; subnet-- > 0;)
+			if ((dirty & (1 << subnet)) != 0 && _notifiedLevels[subnet] != _powerLevelOutput[subnet]) {
+				_notifiedLevels[subnet] = _powerLevelOutput[subnet];
+				changed |= 1 << subnet;
+			}
 		_ignoreUpdates = true;
-		log("Network with ID %d:%d notifying %d single nodes and %d omni nodes", hashCode(), subnet, _singleNodes[subnet].size(), _omniNodes.size());
-		for (BlockPosition bp : _singleNodes[subnet]) {
-			log("Network with ID %d:%d notifying node %s of power state change to %d", hashCode(), subnet, bp, _powerLevelOutput[subnet]);
-			notifySingleNode(bp, subnet);
-		}
-		for (BlockPosition bp : _omniNodes) {
-			log("Network with ID %d:%d notifying omni node %s of power state change to %d", hashCode(), subnet, bp, _powerLevelOutput[subnet]);
-			notifyOmniNode(bp);
+		if (changed != 0) {
+			for (int subnet = 16; subnet-- > 0;) {
+				if ((changed & (1 << subnet)) == 0)
+					continue;
+				LinkedLongSet nodes = _singleNodes[subnet];
+				log("Network with ID %d:%d notifying %d single nodes of power state change to %d", hashCode(), subnet, nodes.size(), _powerLevelOutput[subnet]);
+				for (int i = 0, e = nodes.end(); i < e; ++i)
+					if (nodes.isLive(i))
+						notifySingleNode(nodes.get(i), subnet);
+			}
+			LinkedLongSet nodes = _omniNodes;
+			log("Network with ID %d notifying %d omni nodes of power state change", hashCode(), nodes.size());
+			for (int i = 0, e = nodes.end(); i < e; ++i)
+				if (nodes.isLive(i))
+					notifyOmniNode(nodes.get(i));
+		}
+		if (!_pendingNodes.isEmpty()) {
+			LinkedLongSet pending = _pendingNodes;
+			_pendingNodes = new LinkedLongSet();
+			for (int i = 0, e = pending.end(); i < e; ++i) {
+				if (!pending.isLive(i))
+					continue;
+				long node = pending.get(i);
+				if (_omniNodes.contains(node)) {
+					if (changed == 0)
+						notifyOmniNode(node);
+					continue;
+				}
+				for (int subnet = 16; subnet-- > 0;)
+					if (_singleNodes[subnet].contains(node)) {
+						if ((changed & (1 << subnet)) == 0)
+							notifySingleNode(node, subnet);
+						break;
+					}
+			}
 		}
 		_ignoreUpdates = false;
 	}
 
-	private boolean isNodeLoaded(BlockPosition node) {
+	private boolean isNodeLoaded(long node) {
 
-		return _world.getChunkProvider().chunkExists(node.x >> 4, node.z >> 4);
+		return _world.getChunkProvider().chunkExists(nodeX(node) >> 4, nodeZ(node) >> 4);
 	}
 
-	private void notifySingleNode(BlockPosition node, int subnet) {
+	private void notifySingleNode(long node, int subnet) {
 
 		if (isNodeLoaded(node)) {
-			Block block = _world.getBlock(node.x, node.y, node.z);
+			int x = nodeX(node), y = nodeY(node), z = nodeZ(node);
+			Block block = _world.getBlock(x, y, z);
 			if (block == rednetCableBlock) {
 				return;
 			} else if (block instanceof IRedNetInputNode) {
-				((IRedNetInputNode) block).onInputChanged(_world, node.x, node.y, node.z, node.orientation.getOpposite(), _powerLevelOutput[subnet]);
+				((IRedNetInputNode) block).onInputChanged(_world, x, y, z, nodeSide(node).getOpposite(), _powerLevelOutput[subnet]);
 			} else {
-				MFRUtil.notifyNearbyBlocksExcept(_world, node.x, node.y, node.z, MFRThings.rednetCableBlock);
+				MFRUtil.notifyNearbyBlocksExcept(_world, x, y, z, MFRThings.rednetCableBlock);
 			}
 		}
 	}
 
-	private void notifyOmniNode(BlockPosition node) {
+	private void notifyOmniNode(long node) {
 
 		if (isNodeLoaded(node)) {
-			Block block = _world.getBlock(node.x, node.y, node.z);
+			int x = nodeX(node), y = nodeY(node), z = nodeZ(node);
+			Block block = _world.getBlock(x, y, z);
 			if (block instanceof IRedNetInputNode) {
-				((IRedNetInputNode) block).onInputsChanged(_world, node.x, node.y, node.z, node.orientation.getOpposite(), Arrays.copyOf(_powerLevelOutput, 16));
+				((IRedNetInputNode) block).onInputsChanged(_world, x, y, z, nodeSide(node).getOpposite(), Arrays.copyOf(_powerLevelOutput, 16));
 			}
 		}
 	}
 
-	private int getOmniNodePowerLevel(BlockPosition node, int subnet) {
+	private int getOmniNodePowerLevel(long node, int subnet) {
 
 		if (!isNodeLoaded(node)) {
 			return 0;
@@ -526,28 +677,31 @@ public class RedstoneNetwork implements IGrid {
 		return levels == null ? 0 : levels[subnet];
 	}
 
-	private int[] getOmniNodePowerLevel(BlockPosition node) {
+	private int[] getOmniNodePowerLevel(long node) {
 
 		if (!isNodeLoaded(node)) {
 			return null;
 		}
-		Block b = _world.getBlock(node.x, node.y, node.z);
+		int x = nodeX(node), y = nodeY(node), z = nodeZ(node);
+		Block b = _world.getBlock(x, y, z);
 		if (b instanceof IRedNetOutputNode) {
-			return ((IRedNetOutputNode) b).getOutputValues(_world, node.x, node.y, node.z, node.orientation.getOpposite());
+			return ((IRedNetOutputNode) b).getOutputValues(_world, x, y, z, nodeSide(node).getOpposite());
 		} else {
 			return null;
 		}
 	}
 
-	private int getSingleNodePowerLevel(BlockPosition node, int subnet) {
+	private int getSingleNodePowerLevel(long node, int subnet) {
 
 		if (!isNodeLoaded(node)) {
 			return 0;
 		}
 
-		Block block = _world.getBlock(node.x, node.y, node.z);
+		int x = nodeX(node), y = nodeY(node), z = nodeZ(node);
+		ForgeDirection side = nodeSide(node);
+		Block block = _world.getBlock(x, y, z);
 		if (block instanceof IRedNetOutputNode) {
-			return ((IRedNetOutputNode) block).getOutputValue(_world, node.x, node.y, node.z, node.orientation, subnet);
+			return ((IRedNetOutputNode) block).getOutputValue(_world, x, y, z, side, subnet);
 		}
 
 		int offset = 0;
@@ -557,11 +711,11 @@ public class RedstoneNetwork implements IGrid {
 
 		int ret = 0;
 		if (_weakNodes.contains(node)) {
-			int weakPower = _world.getIndirectPowerLevelTo(node.x, node.y, node.z, node.orientation.ordinal()) + offset;
-			int strongPower = _world.isBlockProvidingPowerTo(node.x, node.y, node.z, node.orientation.ordinal()) + offset;
+			int weakPower = _world.getIndirectPowerLevelTo(x, y, z, side.ordinal()) + offset;
+			int strongPower = _world.isBlockProvidingPowerTo(x, y, z, side.ordinal()) + offset;
 			ret = Math.max(weakPower, strongPower);
 		} else {
-			ret = _world.isBlockProvidingPowerTo(node.x, node.y, node.z, node.orientation.ordinal()) + offset;
+			ret = _world.isBlockProvidingPowerTo(x, y, z, side.ordinal()) + offset;
 		}
 
 		if (offset == ret)
@@ -112,19 +112,27 @@ public class TileEntityRedNetCable extends TileEntityBase implements INode, ITra
 
 		markForRegen();
 		for (ForgeDirection d : ForgeDirection.VALID_DIRECTIONS)
-			_network.removeNode(new BlockPosition(xCoord, yCoord, zCoord, d).step(d), true);
+			_network.removeNode(xCoord + d.offsetX, yCoord + d.offsetY, zCoord + d.offsetZ, d, true);
 		_network.removeConduit(this);
 		_network = null;
 	}
 
 	private void markForRegen() {
 
-		int c = 0;
+		List<TileEntityRedNetCable> neighbours = null;
 		for (int i = 6; i-- > 0;)
-			if (_connectionState[i].isAllSubnets)
-				++c;
-		if (c > 1)
-			_network.regenerate();
+			if (_connectionState[i].isAllSubnets) {
+				ForgeDirection dir = ForgeDirection.VALID_DIRECTIONS[i];
+				if (!BlockPosition.blockExists(this, dir))
+					continue;
+				TileEntityRedNetCable cable = BlockPosition.getAdjacentTileEntity(this, dir, TileEntityRedNetCable.class);
+				if (cable != null && cable._network == _network) {
+					if (neighbours == null) neighbours = new ArrayList<TileEntityRedNetCable>(6);
+					neighbours.add(cable);
+				}
+			}
+		if (neighbours != null && neighbours.size() > 1)
+			_network.regenerate(neighbours);
 	}
 
 	@Override
@@ -229,25 +237,19 @@ public class TileEntityRedNetCable extends TileEntityBase implements INode, ITra
 
 	public void updateNearbyNode(int subnet, ForgeDirection from) {
 
-		BlockPosition bp = new BlockPosition(xCoord, yCoord, zCoord, from);
-		bp.step(from);
-		updateNearbyNode(bp, subnet);
-	}
-
-	private void updateNearbyNode(BlockPosition bp, int subnet) {
-
 		if (_network == null)
 			return;
-		RedNetConnectionType connectionType = getConnectionState(bp.orientation);
+		RedNetConnectionType connectionType = getConnectionState(from);
+		int x = xCoord + from.offsetX, y = yCoord + from.offsetY, z = zCoord + from.offsetZ;
 
-		if (!connectionType.isDecorative & connectionType.isConnected && !worldObj.isAirBlock(bp.x, bp.y, bp.z)) {
+		if (!connectionType.isDecorative & connectionType.isConnected && !worldObj.isAirBlock(x, y, z)) {
 			if (connectionType.isAllSubnets) {
-				_network.addOrUpdateNode(bp);
+				_network.addOrUpdateNode(x, y, z, from);
 			} else {
-				_network.addOrUpdateNode(bp, subnet, connectionType.isPlate);
+				_network.addOrUpdateNode(x, y, z, from, subnet, connectionType.isPlate);
 			}
 		} else {
-			_network.removeNode(bp, false);
+			_network.removeNode(x, y, z, from, false);
 		}
 	}
 
@@ -260,18 +262,17 @@ public class TileEntityRedNetCable extends TileEntityBase implements INode, ITra
 			return 0;
 		}
 
-		BlockPosition nodebp = new BlockPosition(xCoord, yCoord, zCoord, to);
-		nodebp.step(to);
+		int x = xCoord + to.offsetX, y = yCoord + to.offsetY, z = zCoord + to.offsetZ;
 
 		int subnet = getSideColor(to), power;
 
-		RedstoneNetwork.log("Asked for weak power at %s", nodebp);
-		if (_network.isPowerProvider(subnet, nodebp)) {
-			RedstoneNetwork.log("\t- power provider for network %s, power 0", _network.hashCode());
+		if (RedstoneNetwork.log) RedstoneNetwork.log("Asked for weak power at (%s, %s, %s)", x, y, z);
+		if (_network.isPowerProvider(subnet, x, y, z, to)) {
+			if (RedstoneNetwork.log) RedstoneNetwork.log("\t- power provider for network %s, power 0", _network.hashCode());
 			return 0;
 		} else {
 			power = Math.min(Math.max(_network.getPowerLevelOutput(subnet), 0), 15);
-			RedstoneNetwork.log("\t- got %s from network %s:%s", power, _network.hashCode(), subnet);
+			if (RedstoneNetwork.log) RedstoneNetwork.log("\t- got %s from network %s:%s", power, _network.hashCode(), subnet);
 		}
 		return power;
 	}
@@ -285,23 +286,22 @@ public class TileEntityRedNetCable extends TileEntityBase implements INode, ITra
 			return 0;
 		}
 
-		BlockPosition nodebp = new BlockPosition(xCoord, yCoord, zCoord, to);
-		nodebp.step(to);
+		int x = xCoord + to.offsetX, y = yCoord + to.offsetY, z = zCoord + to.offsetZ;
 
-		int subnet = getSideColor(nodebp.orientation);
+		int subnet = getSideColor(to);
 
-		RedstoneNetwork.log("Asked for strong power at %s", nodebp);
-		if (_network.isPowerProvider(subnet, nodebp)) {
-			RedstoneNetwork.log("\t- power provider for network %s, power 0", _network.hashCode());
+		if (RedstoneNetwork.log) RedstoneNetwork.log("Asked for strong power at (%s, %s, %s)", x, y, z);
+		if (_network.isPowerProvider(subnet, x, y, z, to)) {
+			if (RedstoneNetwork.log) RedstoneNetwork.log("\t- power provider for network %s, power 0", _network.hashCode());
 			return 0;
 		}
-		boolean checkWeak = nodebp.getBlock(worldObj).
-				shouldCheckWeakPower(worldObj, nodebp.x, nodebp.y, nodebp.z, to.getOpposite().ordinal());
-		if (checkWeak && _network.isWeakNode(nodebp)) {
-			RedstoneNetwork.log("\t- weak node for network %s, power 0", _network.hashCode());
+		boolean checkWeak = worldObj.getBlock(x, y, z).
+				shouldCheckWeakPower(worldObj, x, y, z, to.getOpposite().ordinal());
+		if (checkWeak && _network.isWeakNode(x, y, z, to)) {
+			if (RedstoneNetwork.log) RedstoneNetwork.log("\t- weak node for network %s, power 0", _network.hashCode());
 		} else if (state.isCable) {
 			int power = Math.min(Math.max(_network.getPowerLevelOutput(subnet), 0), 15);
-			RedstoneNetwork.log("\t- got %s from network %s:%s", power, _network.hashCode(), subnet);
+			if (RedstoneNetwork.log) RedstoneNetwork.log("\t- got %s from network %s:%s", power, _network.hashCode(), subnet);
 			return power;
 		}
 		return 0;
@@ -23,6 +23,7 @@ import ic2.api.energy.tile.IEnergySink;
 import ic2.api.energy.tile.IEnergySource;
 import ic2.api.energy.tile.IEnergyTile;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -107,12 +108,20 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 
 	private void markForRegen() {
 
-		int c = 0;
+		List<TileEntityRedNetEnergy> neighbours = null;
 		for (int i = 6; i-- > 0;)
-			if ((sideMode[i]) == 9)
-				++c;
-		if (c > 1)
-			_grid.regenerate();
+			if ((sideMode[i]) == 9) {
+				ForgeDirection dir = ForgeDirection.VALID_DIRECTIONS[i ^ 1];
+				if (!BlockPosition.blockExists(this, dir))
+					continue;
+				TileEntityRedNetEnergy cable = BlockPosition.getAdjacentTileEntity(this, dir, TileEntityRedNetEnergy.class);
+				if (cable != null && cable._grid == _grid) {
+					if (neighbours == null) neighbours = new ArrayList<TileEntityRedNetEnergy>(6);
+					neighbours.add(cable);
+				}
+			}
+		if (neighbours != null && neighbours.size() > 1)
+			_grid.regenerate(neighbours);
 	}
 
 	private void reCache() {
@@ -170,6 +179,8 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 
 		if (worldObj.isRemote | deadCache)
 			return;
+		if (_grid != null)
+			_grid.wake();
 		TileEntity tile = worldObj.blockExists(x, y, z) ? worldObj.getTileEntity(x, y, z) : null;
 
 		if (x < xCoord)
@@ -333,8 +344,11 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 	public int receiveEnergy(ForgeDirection from, int maxReceive, boolean simulate) {
 
 		if (from == ForgeDirection.UNKNOWN) return 0;
-		if ((sideMode[from.ordinal() ^ 1] & 1) != 0 & _grid != null)
+		if ((sideMode[from.ordinal() ^ 1] & 1) != 0 & _grid != null) {
+			if (!simulate)
+				_grid.wake();
 			return _grid.storage.receiveEnergy(maxReceive, simulate);
+		}
 		return 0;
 	}
 
@@ -402,6 +416,7 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 	@Override
 	public void applyTurn() {
 
+		_grid.wake();
 		_grid.storage.receiveEnergy(90, false);
 	}
 
@@ -494,6 +509,20 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 		}
 	}
 
+	/**
+	 * @return A bit mask of the enabled sides that have something other than a cable attached.
+	 */
+	int getInterfaceSides() {
+
+		int sides = 0;
+		for (int i = 0; i < 6; i++) {
+			int mode = sideMode[i] >> 1;
+			if (((sideMode[i] & 1) != 0) & (mode != 0) & (mode != 4))
+				sides |= 1 << i;
+		}
+		return sides;
+	}
+
 	int transfer(ForgeDirection side, int energy) {
 
 		if (deadCache) return 0;
@@ -529,6 +558,44 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 		return 0;
 	}
 
+	/**
+	 * @return How much of {@code energy} the tile on {@code side} would accept, without transferring any.
+	 */
+	int demand(ForgeDirection side, int energy) {
+
+		if (deadCache) return 0;
+		int bSide = side.ordinal();
+		if ((sideMode[bSide] & 1) != 0) {
+			switch (sideMode[bSide] >> 1) {
+			case 1: // IEnergyHandler
+				if (receiverCache != null) {
+					IEnergyReceiver handlerTile = receiverCache[bSide];
+					if (handlerTile != null)
+						return handlerTile.receiveEnergy(side, energy, true);
+				}
+				break;
+			case 2: {// IEnergyTransport
+				InterfaceType state = getTransportState(side);
+				if (receiverCache != null && state != InterfaceType.RECEIVE) {
+					IEnergyReceiver handlerTile = receiverCache[bSide];
+					if (handlerTile != null && (state == InterfaceType.SEND || handlerTile.getEnergyStored(side) < _grid.storage.getEnergyStored()))
+						return handlerTile.receiveEnergy(side, energy, true);
+				}
+				break;
+			}
+			case 3: // IEnergyTile
+				if (ic2Cache != null)
+					return ic2Cache.demand(energy, bSide);
+				break;
+			case 4: // TileEntityRednetCable
+			case 0: // no mode
+				// no-op
+				break;
+			}
+		}
+		return 0;
+	}
+
 	private class IC2Cache {
 
 		IEnergySource[] sourceCache = null;
@@ -578,13 +645,23 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 			return;
 		}
 
-		int transmit(int energy, ForgeDirection side, int bSide) {
+		int demand(int energy, int bSide) {
 
 			if (sinkCache != null) {
 				IEnergySink sink = sinkCache[bSide];
 				if (sink == null) return 0;
 				int e = (int) Math.min(getPowerFromTier(sink.getSinkTier()) * energyPerEU, energy);
-				e = Math.min((int) (sink.getDemandedEnergy() * energyPerEU), e);
+				return Math.min((int) (sink.getDemandedEnergy() * energyPerEU), e);
+			}
+			return 0;
+		}
+
+		int transmit(int energy, ForgeDirection side, int bSide) {
+
+			if (sinkCache != null) {
+				IEnergySink sink = sinkCache[bSide];
+				if (sink == null) return 0;
+				int e = demand(energy, bSide);
 				if (e > 0) {
 					float v = e / (float) energyPerEU;
 					e -= (int) Math.ceil(sink.injectEnergy(side, v, getPowerFromTier(getTierFromPower(v))) * energyPerEU);
@@ -638,13 +715,7 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 		super.updateInternalTypes(grid);
 		if (deadCache) return;
 		if (grid != RedstoneEnergyNetwork.HANDLER) return;
-		isNode = false;
-		for (int i = 0; i < 6; i++) {
-			int mode = sideMode[i] >> 1;
-			if (((sideMode[i] & 1) != 0) & (mode != 0) & (mode != 4)) {
-				isNode = true;
-			}
-		}
+		isNode = getInterfaceSides() != 0;
 		if (_grid != null)
 			_grid.addConduit(this);
 		Packets.sendToAllPlayersWatching(this);
@@ -741,6 +812,7 @@ public class TileEntityRedNetEnergy extends TileEntityRedNetCable implements
 							if (isNode) {
 							info.add("Throughput All: " + _grid.distribution);
 							info.add("Throughput Side: " + _grid.distributionSide);
+							info.add("Demand: " + _grid.demanded);
 							} else//*/
 			if (!debug) {
 				float sat = 0;
@@ -12,19 +12,31 @@ import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S35PacketUpdateTileEntity;
 import net.minecraftforge.common.util.ForgeDirection;
 
-import powercrystals.minefactoryreloaded.core.ArrayQueue;
+import powercrystals.minefactoryreloaded.core.SignalHistory;
 import powercrystals.minefactoryreloaded.net.Packets;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityFactory;
 
 public class TileEntityRedNetHistorian extends TileEntityFactory
 {
+	/** How many buckets the display shows, and how many ticks each covers. */
+	public static final int BUCKETS = 100;
+	public static final int BUCKET_TICKS = 4;
+	/** How many changes of each subnet are remembered. */
+	private static final int HISTORY_RUNS = 512;
+
+	@SideOnly(Side.CLIENT)
+	private int[] _minClient, _maxClient, _avgClient;
+	@SideOnly(Side.CLIENT)
+	private int _firstClient;
 	@SideOnly(Side.CLIENT)
-	private ArrayQueue<Integer> _valuesClient;
+	private long _bucketClient;
 	@SideOnly(Side.CLIENT)
 	private int _currentValueClient;
 
 	private int _currentSubnet = 0;
-	private int[] _lastValues = new int[16];
+	private SignalHistory _history = new SignalHistory(16, HISTORY_RUNS);
+	private boolean _summaryDirty;
+	private long _nextSummary;
 
 	public TileEntityRedNetHistorian()
 	{
@@ -37,7 +49,7 @@ public class TileEntityRedNetHistorian extends TileEntityFactory
 		NBTTagCompound data = new NBTTagCompound();
 		data.setInteger("facing", getDirectionFacing().ordinal());
 		data.setInteger("subnet", _currentSubnet);
-		data.setInteger("current", _lastValues[_currentSubnet]);
+		writeSummary(data);
 		S35PacketUpdateTileEntity packet = new S35PacketUpdateTileEntity(xCoord, yCoord, zCoord, 0, data);
 		return packet;
 	}
@@ -50,11 +62,11 @@ public class TileEntityRedNetHistorian extends TileEntityFactory
 		{
 		case 0:
 			_currentSubnet = data.getInteger("subnet");
-			_currentValueClient = data.getInteger("current");
+			readSummary(data);
 			rotateDirectlyTo(data.getInteger("facing"));
 			break;
 		case 1:
-			_currentValueClient = data.getInteger("value");
+			readSummary(data);
 			break;
 		}
 	}
@@ -68,35 +80,78 @@ public class TileEntityRedNetHistorian extends TileEntityFactory
 		}
 		else
 		{
-			_valuesClient = new ArrayQueue<Integer>(100);
+			_minClient = new int[BUCKETS];
+			_maxClient = new int[BUCKETS];
+			_avgClient = new int[BUCKETS];
+			_firstClient = BUCKETS;
 			_currentValueClient = 0;
 		}
 	}
 
 	@Override
-	@SideOnly(Side.SERVER)
-	public boolean canUpdate()
+	public void updateEntity()
 	{
-		return false;
+		super.updateEntity();
+		if (worldObj.isRemote)
+		{
+			advanceClient(worldObj.getTotalWorldTime() / BUCKET_TICKS);
+		}
+		else if (_summaryDirty && worldObj.getTotalWorldTime() >= _nextSummary)
+		{
+			sendSummary();
+		}
 	}
 
-	@Override
+	/**
+	 * Moves the display on to {@code bucket}, taking the signal to have held its current value since the last summary.
+	 */
 	@SideOnly(Side.CLIENT)
-	public void updateEntity()
+	private void advanceClient(long bucket)
 	{
-		super.updateEntity();
-		if (worldObj.isRemote)
+		if (bucket <= _bucketClient)
+		{
+			return;
+		}
+		int n = (int)Math.min(bucket - _bucketClient, BUCKETS);
+		_bucketClient = bucket;
+		System.arraycopy(_minClient, n, _minClient, 0, BUCKETS - n);
+		System.arraycopy(_maxClient, n, _maxClient, 0, BUCKETS - n);
+		System.arraycopy(_avgClient, n, _avgClient, 0, BUCKETS - n);
+		for (int i = BUCKETS - n; i < BUCKETS; i++)
+		{
+			_minClient[i] = _maxClient[i] = _avgClient[i] = _currentValueClient;
+		}
+		if (_firstClient < BUCKETS)
 		{
-			_valuesClient.pop();
-			_valuesClient.push(_currentValueClient);
+			_firstClient = Math.max(_firstClient - n, 0);
 		}
 	}
 
+	/**
+	 * @return The first bucket with a value; the ones before it are from before the historian was recording.
+	 */
 	@SideOnly(Side.CLIENT)
-	public Integer[] getValues()
+	public int getFirstBucket()
 	{
-		Integer[] values = new Integer[_valuesClient.size()];
-		return _valuesClient.toArray(values);
+		return _firstClient;
+	}
+
+	@SideOnly(Side.CLIENT)
+	public int[] getMinValues()
+	{
+		return _minClient;
+	}
+
+	@SideOnly(Side.CLIENT)
+	public int[] getMaxValues()
+	{
+		return _maxClient;
+	}
+
+	@SideOnly(Side.CLIENT)
+	public int[] getAverageValues()
+	{
+		return _avgClient;
 	}
 
 	@SideOnly(Side.CLIENT)
@@ -110,37 +165,73 @@ public class TileEntityRedNetHistorian extends TileEntityFactory
 		_currentSubnet = newSubnet;
 		if (worldObj.isRemote)
 		{
-			_valuesClient.fill(null);
+			_firstClient = BUCKETS;
 		}
 		else
 		{
-			sendValue(_lastValues[_currentSubnet]);
+			_summaryDirty = true;
 		}
 	}
 
 	public void valuesChanged(int[] values)
 	{
+		long time = worldObj.getTotalWorldTime();
 		for(int i = 0; i < 16; i++)
 		{
-			if(values[i] != _lastValues[i])
+			if (i == _currentSubnet && values[i] != _history.getValue(i))
 			{
-				_lastValues[i] = values[i];
-				if (i == _currentSubnet)
-				{
-					sendValue(values[i]);
-				}
+				_summaryDirty = true;
 			}
+			_history.record(i, values[i], time);
 		}
+		markChunkDirty();
 	}
 
-	protected void sendValue(int value)
+	/**
+	 * Sends nearby players the selected subnet's history, at most once a bucket; between summaries they carry the
+	 * current value forward themselves.
+	 */
+	protected void sendSummary()
 	{
+		_summaryDirty = false;
+		_nextSummary = worldObj.getTotalWorldTime() + BUCKET_TICKS;
 		NBTTagCompound data = new NBTTagCompound();
-		data.setInteger("value", value);
+		writeSummary(data);
 		Packets.sendToAllPlayersInRange(worldObj, xCoord, yCoord, zCoord, 50,
 				new S35PacketUpdateTileEntity(xCoord, yCoord, zCoord, 1, data));
 	}
 
+	protected void writeSummary(NBTTagCompound data)
+	{
+		long now = worldObj.getTotalWorldTime();
+		long bucket = now / BUCKET_TICKS;
+		int[] min = new int[BUCKETS], max = new int[BUCKETS], avg = new int[BUCKETS];
+		int first = _history.query(_currentSubnet, (bucket - BUCKETS + 1) * BUCKET_TICKS, now + 1, BUCKET_TICKS,
+				BUCKETS, min, max, avg);
+		data.setLong("bucket", bucket);
+		data.setInteger("first", first);
+		data.setIntArray("min", min);
+		data.setIntArray("max", max);
+		data.setIntArray("avg", avg);
+		data.setInteger("current", _history.getValue(_currentSubnet));
+	}
+
+	@SideOnly(Side.CLIENT)
+	protected void readSummary(NBTTagCompound data)
+	{
+		int[] min = data.getIntArray("min"), max = data.getIntArray("max"), avg = data.getIntArray("avg");
+		if (min.length != BUCKETS || max.length != BUCKETS || avg.length != BUCKETS)
+		{
+			return;
+		}
+		_minClient = min;
+		_maxClient = max;
+		_avgClient = avg;
+		_firstClient = data.getInteger("first");
+		_bucketClient = data.getLong("bucket");
+		_currentValueClient = data.getInteger("current");
+	}
+
 	public int getSelectedSubnet()
 	{
 		return _currentSubnet;
@@ -162,6 +253,7 @@ public class TileEntityRedNetHistorian extends TileEntityFactory
 	{
 		super.readFromNBT(nbttagcompound);
 		_currentSubnet = nbttagcompound.getInteger("subnet");
+		_history.readFromNBT(nbttagcompound.getTagList("history", 10));
 	}
 
 	@Override
@@ -169,6 +261,7 @@ public class TileEntityRedNetHistorian extends TileEntityFactory
 	{
 		super.writeToNBT(nbttagcompound);
 		nbttagcompound.setInteger("subnet", _currentSubnet);
+		nbttagcompound.setTag("history", _history.writeToNBT());
 	}
 
 	@Override
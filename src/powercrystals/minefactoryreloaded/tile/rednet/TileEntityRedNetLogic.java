@@ -21,11 +21,14 @@ import net.minecraftforge.common.util.ForgeDirection;
 
 import powercrystals.minefactoryreloaded.api.rednet.IRedNetInputNode;
 import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuit;
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitInPlace;
+import powercrystals.minefactoryreloaded.api.rednet.IRedNetLogicCircuitStateless;
 import powercrystals.minefactoryreloaded.api.rednet.IRedNetNetworkContainer;
 import powercrystals.minefactoryreloaded.api.rednet.connectivity.RedNetConnectionType;
 import powercrystals.minefactoryreloaded.circuits.Noop;
 import powercrystals.minefactoryreloaded.item.ItemLogicUpgradeCard;
 import powercrystals.minefactoryreloaded.net.Packets;
+import powercrystals.minefactoryreloaded.net.RedNetUpdateQueue;
 import powercrystals.minefactoryreloaded.setup.MFRThings;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityBase;
 
@@ -54,7 +57,22 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 
 	// 0-5 in, 6-11 out, 12 const, 13 var, 14 null
 	private int[][] _buffers = new int[15][];
-	private int[][] _backBuffer = new int[6][];
+
+	// the registers hold the in and out buffers (16 each, in buffer order), then the variables, the null pin and the
+	// constants; see compilePlan()
+	private static final int OUT_REGISTERS = 6 * 16;
+	private static final int VAR_REGISTERS = 12 * 16;
+	private int[] _registers;
+	// for each circuit that runs: its input count, its output count, then the register of each input and output pin
+	private int[] _plan;
+	private IRedNetLogicCircuit[] _planCircuits;
+	// input arrays for circuits that are not IRedNetLogicCircuitInPlace
+	private int[][] _planInputs;
+	// true if every circuit in the plan is IRedNetLogicCircuitStateless, so it only has to run after a change
+	private boolean _planStateless;
+	private boolean _inputsChanged;
+	// sides whose outputs changed and are waiting for the RedNetUpdateQueue
+	private int _changedSides;
 
 	private BlockPosition bp = new BlockPosition(0, 0, 0);
 
@@ -72,10 +90,6 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 			_buffers[i] = new int[16];
 		}
 
-		for (int i = 0; i < 6; i++) {
-			_backBuffer[i] = new int[16];
-		}
-
 		//init constants
 		_buffers[12] = null;
 		// init variable buffer
@@ -130,6 +144,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 	public void setInputPinMapping(int circuitIndex, int pinIndex, int buffer, int pin) {
 
 		_pinMappingInputs[circuitIndex][pinIndex] = new PinMapping(pin, buffer);
+		_plan = null;
 	}
 
 	public PinMapping getOutputPinMapping(int circuitIndex, int pinIndex) {
@@ -140,6 +155,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 	public void setOutputPinMapping(int circuitIndex, int pinIndex, int buffer, int pin) {
 
 		_pinMappingOutputs[circuitIndex][pinIndex] = new PinMapping(pin, buffer);
+		_plan = null;
 	}
 
 	private IRedNetLogicCircuit getNewCircuit(String className) {
@@ -161,6 +177,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 
 		_updatable[index] = !(circuit instanceof Noop);
 		_circuits[index] = circuit;
+		_plan = null;
 		if (_pinMappingInputs[index] == null) {
 			_pinMappingInputs[index] = new PinMapping[_circuits[index].getInputCount()];
 		} else {
@@ -203,10 +220,6 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 			_buffers[i] = new int[16];
 		}
 
-		for (int i = 0; i < 6; i++) {
-			_backBuffer[i] = new int[16];
-		}
-
 		//init constants
 		_buffers[12] = null;
 		// init variable buffer
@@ -289,37 +302,84 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 			return;
 		}
 
+		if (_plan == null) {
+			compilePlan();
+		}
+		if (_planStateless && !_inputsChanged) {
+			return;
+		}
+		_inputsChanged = false;
+
+		int[] registers = _registers;
 		for (int i = 0; i < 6; i++) {
-			int[] buffer = _buffers[i + 6];
-			int[] backbuffer = _backBuffer[i];
-			for (int j = 16; j-- > 0;) {
-				backbuffer[j] = buffer[j];
-				buffer[j] = 0;
+			int[] buffer = _buffers[i];
+			if (buffer != null) {
+				System.arraycopy(buffer, 0, registers, i * 16, Math.min(buffer.length, 16));
 			}
 		}
+		Arrays.fill(registers, OUT_REGISTERS, VAR_REGISTERS, 0);
 
-		for (int circuitNum = 0, e = _circuits.length; circuitNum < e; ++circuitNum) {
-			if (_updatable[circuitNum]) {
-				IRedNetLogicCircuit circuit = _circuits[circuitNum];
-				PinMapping[] mappings = _pinMappingInputs[circuitNum];
-				int[] input = new int[circuit.getInputCount()];
-				for (int pinNum = 0, j = input.length; pinNum < j; ++pinNum) {
-					PinMapping mapping = mappings[pinNum];
-					input[pinNum] = mapping.buffer == 12 ? mapping.pin : _buffers[mapping.buffer][mapping.pin];
-				}
+		long worldTime = worldObj.getTotalWorldTime();
+		int[] plan = _plan;
+		for (int step = 0, pc = 0, e = plan.length; pc < e; ++step) {
+			int inputs = pc + 2, outputs = inputs + plan[pc];
+			pc = outputs + plan[pc + 1];
 
-				int[] output = circuit.recalculateOutputValues(worldObj.getTotalWorldTime(), input);
-				mappings = _pinMappingOutputs[circuitNum];
-				for (int pinNum = 0, j = output.length; pinNum < j; ++pinNum) {
-					PinMapping mapping = mappings[pinNum];
-					_buffers[mapping.buffer][mapping.pin] = output[pinNum];
-				}
+			int[] input = _planInputs[step];
+			if (input == null) {
+				((IRedNetLogicCircuitInPlace) _planCircuits[step]).recalculateOutputValues(worldTime, registers, plan,
+					inputs, outputs);
+				continue;
 			}
+			for (int pinNum = 0, j = input.length; pinNum < j; ++pinNum) {
+				input[pinNum] = registers[plan[inputs + pinNum]];
+			}
+			int[] output = _planCircuits[step].recalculateOutputValues(worldTime, input);
+			for (int pinNum = 0, j = Math.min(output.length, pc - outputs); pinNum < j; ++pinNum) {
+				registers[plan[outputs + pinNum]] = output[pinNum];
+			}
+		}
+
+		// variables and the null pin are the only registers that last from one tick to the next; while they keep
+		// changing, the circuits have to keep running
+		int[] vars = _buffers[13];
+		int nullValue = registers[VAR_REGISTERS + vars.length];
+		if (copyIfChanged(registers, VAR_REGISTERS, vars) || _buffers[14][0] != nullValue) {
+			_buffers[14][0] = nullValue;
+			_inputsChanged = true;
+		}
+
+		int changed = 0;
+		for (int i = 0; i < 6; i++) {
+			if (copyIfChanged(registers, OUT_REGISTERS + i * 16, _buffers[i + 6])) {
+				changed |= 1 << i;
+			}
+		}
+		if (changed != 0) {
+			if (_changedSides == 0) {
+				RedNetUpdateQueue.instance.queue(this);
+			}
+			_changedSides |= changed;
+		}
+		markChunkDirty();
+	}
+
+	/**
+	 * Tells the networks and nodes next to each side whose outputs changed since the last call. Called once per tick
+	 * at most, by the {@link RedNetUpdateQueue}. Input nodes are called right here and may act on the new values at
+	 * once. Networks pass them on in their end-of-tick update, and controllers evaluate them on their next tick.
+	 */
+	public void deliverOutputs() {
+
+		int changed = _changedSides;
+		_changedSides = 0;
+		if (isInvalid() || !worldObj.blockExists(xCoord, yCoord, zCoord)) {
+			return;
 		}
 
 		BlockPosition bp = this.bp;
 		for (int i = 0; i < 6; i++) {
-			if (!areEqual(_backBuffer[i], _buffers[i + 6])) {
+			if ((changed & (1 << i)) != 0) {
 				bp.x = xCoord;
 				bp.y = yCoord;
 				bp.z = zCoord;
@@ -340,7 +400,82 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 				}
 			}
 		}
-		markChunkDirty();
+	}
+
+	/**
+	 * Lays the buffers out in one register file and turns the circuits that run and their pin mappings into
+	 * {@link #_plan}, so that a tick only has to index into arrays. Pins that point outside their buffer go to the null
+	 * pin.
+	 */
+	private void compilePlan() {
+
+		int[] vars = _buffers[13];
+		int nullRegister = VAR_REGISTERS + vars.length;
+		int registerCount = nullRegister + 1, steps = 0, length = 0;
+		for (int c = 0, e = _circuits.length; c < e; ++c) {
+			if (_updatable[c]) {
+				++steps;
+				length += 2 + _pinMappingInputs[c].length + _pinMappingOutputs[c].length;
+				for (PinMapping mapping : _pinMappingInputs[c]) {
+					if (mapping.buffer == 12) {
+						++registerCount;
+					}
+				}
+			}
+		}
+
+		int[] registers = new int[registerCount];
+		System.arraycopy(vars, 0, registers, VAR_REGISTERS, vars.length);
+		registers[nullRegister] = _buffers[14][0];
+		boolean stateless = true;
+		int[] plan = new int[length];
+		IRedNetLogicCircuit[] circuits = new IRedNetLogicCircuit[steps];
+		int[][] inputs = new int[steps][];
+
+		for (int c = 0, e = _circuits.length, step = 0, pc = 0, constant = nullRegister + 1; c < e; ++c) {
+			if (!_updatable[c]) {
+				continue;
+			}
+			IRedNetLogicCircuit circuit = _circuits[c];
+			PinMapping[] in = _pinMappingInputs[c], out = _pinMappingOutputs[c];
+			circuits[step] = circuit;
+			inputs[step] = circuit instanceof IRedNetLogicCircuitInPlace ? null : new int[in.length];
+			stateless &= circuit instanceof IRedNetLogicCircuitStateless;
+			++step;
+
+			plan[pc++] = in.length;
+			plan[pc++] = out.length;
+			for (PinMapping mapping : in) {
+				if (mapping.buffer == 12) {
+					registers[constant] = mapping.pin;
+					plan[pc++] = constant++;
+				} else {
+					plan[pc++] = getRegister(mapping, vars.length, nullRegister);
+				}
+			}
+			for (PinMapping mapping : out) {
+				plan[pc++] = getRegister(mapping, vars.length, nullRegister);
+			}
+		}
+
+		_registers = registers;
+		_planCircuits = circuits;
+		_planInputs = inputs;
+		_planStateless = stateless;
+		_plan = plan;
+		_inputsChanged = true;
+	}
+
+	private static int getRegister(PinMapping mapping, int varCount, int nullRegister) {
+
+		int buffer = mapping.buffer, pin = mapping.pin;
+		if (buffer >= 0 && buffer < 12 && pin >= 0 && pin < 16) {
+			return buffer * 16 + pin;
+		}
+		if (buffer == 13 && pin >= 0 && pin < varCount) {
+			return VAR_REGISTERS + pin;
+		}
+		return nullRegister;
 	}
 
 	public int getOutputValue(ForgeDirection side, int subnet) {
@@ -363,6 +498,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 
 		if (side != ForgeDirection.UNKNOWN) {
 			_buffers[side.ordinal()] = values;
+			_inputsChanged = true;
 		}
 	}
 
@@ -484,6 +620,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 		int[] vars = tag.getIntArray("vars");
 		if (vars != null && vars.length == _buffers[13].length) {
 			_buffers[13] = vars;
+			_plan = null;
 		}
 
 		readCircuitsOnly(tag);
@@ -617,6 +754,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 		_circuits = Arrays.copyOf(_circuits, _circuitCount);
 		_updatable = Arrays.copyOf(_updatable, _circuitCount);
 		_buffers[13] = Arrays.copyOf(_buffers[13], _variableCount);
+		_plan = null;
 
 		// re-init pinmapping arrays
 		PinMapping[][] inputMappings = new PinMapping[_circuitCount][];
@@ -675,6 +813,7 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 					}
 				}
 			}
+			_plan = null;
 			worldObj.setBlockMetadataWithNotify(xCoord, yCoord, zCoord, nextMeta, 3);
 		}
 	}
@@ -694,19 +833,20 @@ public class TileEntityRedNetLogic extends TileEntityBase implements IRotateable
 		return ForgeDirection.getOrientation(meta + 2);
 	}
 
-	private static boolean areEqual(int[] a, int[] b) {
-
-		if ((a == null | b == null) ||
-				a.length != b.length)
-			return false;
-
-		//if (a == b) return true;
+	/**
+	 * Copies {@code to.length} registers from {@code from} into {@code to}.
+	 *
+	 * @return True if that changed {@code to}.
+	 */
+	private static boolean copyIfChanged(int[] registers, int from, int[] to) {
 
-		for (int i = a.length; i-- > 0;)
-			if (a[i] != b[i])
-				return false;
+		for (int i = to.length; i-- > 0;)
+			if (registers[from + i] != to[i]) {
+				System.arraycopy(registers, from, to, 0, to.length);
+				return true;
+			}
 
-		return true;
+		return false;
 	}
 
 	@Override
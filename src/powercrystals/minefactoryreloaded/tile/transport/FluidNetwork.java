@@ -3,7 +3,8 @@ package powercrystals.minefactoryreloaded.tile.transport;
 import cofh.core.util.fluid.FluidTankAdv;
 import cofh.lib.util.LinkedHashList;
 import cofh.lib.util.helpers.FluidHelper;
-import cofh.lib.util.position.BlockPosition;
+
+import java.util.List;
 
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.world.World;
@@ -12,10 +13,12 @@ import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 
 import powercrystals.minefactoryreloaded.core.ArrayHashList;
+import powercrystals.minefactoryreloaded.core.EdgeList;
+import powercrystals.minefactoryreloaded.core.GridSplitter;
 import powercrystals.minefactoryreloaded.core.IGrid;
 import powercrystals.minefactoryreloaded.net.GridTickHandler;
 
-public class FluidNetwork implements IGrid {
+public class FluidNetwork implements IGrid, GridSplitter.IConnectivity<TileEntityPlasticPipe> {
 
 	public static final int TRANSFER_RATE = 80;
 	public static final int STORAGE = TRANSFER_RATE * 6;
@@ -24,9 +27,13 @@ public class FluidNetwork implements IGrid {
 
 	private ArrayHashList<TileEntityPlasticPipe> nodeSet = new ArrayHashList<TileEntityPlasticPipe>();
 	private LinkedHashList<TileEntityPlasticPipe> conduitSet;
+	private EdgeList<TileEntityPlasticPipe> edges = new EdgeList<TileEntityPlasticPipe>();
 	private TileEntityPlasticPipe master;
 	private int overflowSelector;
 	private boolean regenerating = false;
+	private int idleTicks;
+	private boolean sleeping, moved;
+	private final GridSplitter<TileEntityPlasticPipe> splitter = new GridSplitter<TileEntityPlasticPipe>(this);
 	FluidTankAdv storage = new FluidTankAdv(320);
 
 	public int distribution;
@@ -54,16 +61,21 @@ public class FluidNetwork implements IGrid {
 	}
 
 	public boolean addConduit(TileEntityPlasticPipe cond) {
-		if (conduitSet.add(cond))
+		idleTicks = 0;
+		if (conduitSet.add(cond)) {
+			splitter.added(cond);
 			if (!conduitAdded(cond))
 				return false;
+		}
 		if (cond.isNode) {
 			if (nodeSet.add(cond)) {
 				nodeAdded(cond);
 			}
+			edges.set(cond, cond.getInterfaceSides());
 		} else if (!nodeSet.isEmpty()) {
 			int share = getNodeShare(cond);
 			if (nodeSet.remove(cond)) {
+				edges.remove(cond);
 				cond.fluidForGrid = storage.drain(share, true);
 				nodeRemoved(cond);
 			}
@@ -72,10 +84,13 @@ public class FluidNetwork implements IGrid {
 	}
 
 	public void removeConduit(TileEntityPlasticPipe cond) {
-		conduitSet.remove(cond);
+		idleTicks = 0;
+		if (conduitSet.remove(cond))
+			splitter.removed();
 		if (!nodeSet.isEmpty()) {
 			int share = getNodeShare(cond);
 			if (nodeSet.remove(cond)) {
+				edges.remove(cond);
 				cond.fluidForGrid = storage.drain(share, true);
 				nodeRemoved(cond);
 			} else {
@@ -87,60 +102,46 @@ public class FluidNetwork implements IGrid {
 	}
 
 	public void regenerate() {
+		splitter.requestSweep();
+		scheduleRegeneration();
+	}
+
+	/**
+	 * Regenerates from the conduits that were connected to a removed conduit, rather than the whole grid.
+	 */
+	public void regenerate(List<TileEntityPlasticPipe> neighbours) {
+		for (TileEntityPlasticPipe cond : neighbours)
+			splitter.addSeed(cond);
+		scheduleRegeneration();
+	}
+
+	private void scheduleRegeneration() {
 		regenerating = true;
 		HANDLER.regenerateGrid(this);
 	}
 
+	/**
+	 * Brings a dormant grid back to ticking every tick.
+	 */
+	public void wake() {
+		idleTicks = 0;
+	}
+
 	public boolean isRegenerating() {
 		return regenerating;
 	}
 
 	@Override
-	public void markSweep() {
-		destroyGrid();
-		if (conduitSet.isEmpty())
-			return;
-		TileEntityPlasticPipe main = conduitSet.poke();
-		LinkedHashList<TileEntityPlasticPipe> oldSet = conduitSet;
-		nodeSet.clear();
-		conduitSet = new LinkedHashList<TileEntityPlasticPipe>(Math.min(oldSet.size() / 6, 5));
-		rebalanceGrid();
-
-		LinkedHashList<TileEntityPlasticPipe> toCheck = new LinkedHashList<TileEntityPlasticPipe>();
-		LinkedHashList<TileEntityPlasticPipe> checked = new LinkedHashList<TileEntityPlasticPipe>();
-		BlockPosition bp = new BlockPosition(0,0,0);
-		ForgeDirection[] dir = ForgeDirection.VALID_DIRECTIONS;
-		toCheck.add(main);
-		checked.add(main);
-		while (!toCheck.isEmpty()) {
-			main = toCheck.shift();
-			addConduit(main);
-			World world = main.getWorldObj();
-			for (int i = 6; i --> 0; ) {
-				bp.x = main.xCoord; bp.y = main.yCoord; bp.z = main.zCoord;
-				bp.step(dir[i]);
-				if (world.blockExists(bp.x, bp.y, bp.z)) {
-					TileEntity te = bp.getTileEntity(world);
-					if (te instanceof TileEntityPlasticPipe) {
-						TileEntityPlasticPipe tep = (TileEntityPlasticPipe)te;
-						if (main.canInterface(tep, dir[i^1]) && checked.add(tep))
-							toCheck.add(tep);
-					}
-				}
-			}
-			oldSet.remove(main);
-		}
-		if (!oldSet.isEmpty()) {
-			FluidNetwork newGrid = new FluidNetwork();
-			newGrid.conduitSet = oldSet;
-			newGrid.regenerating = true;
-			newGrid.markSweep();
-		}
+	public boolean markSweep(long deadline) {
+		if (!splitter.run(conduitSet, deadline))
+			return false;
 		if (nodeSet.isEmpty())
 			HANDLER.removeGrid(this);
 		else
 			HANDLER.addGrid(this);
+		rebalanceGrid();
 		regenerating = false;
+		return true;
 	}
 
 	public void destroyGrid() {
@@ -171,29 +172,44 @@ public class FluidNetwork implements IGrid {
 			HANDLER.removeGrid(this);
 			return;
 		}
+		int delay = GridTickHandler.getDormantDelay();
+		// dormant grids only look for work every delay ticks, unless woken up sooner
+		sleeping = delay > 0 && idleTicks >= delay && ++idleTicks % delay != 0;
+		moved = false;
+		if (sleeping)
+			return;
 		FluidTankAdv tank = storage;
 		if (tank.getSpace() <= 0)
 			return;
-		ForgeDirection[] directions = ForgeDirection.VALID_DIRECTIONS;
+		int stored = tank.getFluidAmount();
+		EdgeList<TileEntityPlasticPipe> edges = this.edges;
 
-		for (TileEntityPlasticPipe cond : nodeSet)
-			for (int i = 6; i --> 0; )
-				cond.extract(directions[i], tank);
+		for (int i = 0, e = edges.size(); i < e; ++i)
+			edges.getNode(i).extract(edges.getSide(i), tank);
+		moved = tank.getFluidAmount() != stored;
 	}
 
 	@Override
 	public void doGridUpdate() {
-		if (regenerating)
+		if (regenerating | sleeping)
 			return;
 		if (nodeSet.isEmpty()) {
 			HANDLER.removeGrid(this);
 			return;
 		}
+		int stored = storage.getFluidAmount();
+		if (stored > 0)
+			distribute();
+		if (moved | storage.getFluidAmount() != stored)
+			idleTicks = 0;
+		else
+			++idleTicks;
+	}
+
+	private void distribute() {
 		FluidTankAdv storage = this.storage;
-		if (storage.getFluidAmount() <= 0)
-			return;
-		ForgeDirection[] directions = ForgeDirection.VALID_DIRECTIONS;
-		int size = nodeSet.size();
+		EdgeList<TileEntityPlasticPipe> edges = this.edges;
+		int size = nodeSet.size(), count = edges.size();
 		int toDistribute = storage.getFluidAmount() / size;
 		int sideDistribute = toDistribute / 6;
 		Fluid fluid = storage.getFluid().getFluid();
@@ -205,13 +221,13 @@ public class FluidNetwork implements IGrid {
 		int overflow = overflowSelector = (overflowSelector + 1) % size;
 		TileEntityPlasticPipe master = nodeSet.get(overflow);
 
-		if (sideDistribute > 0) for (TileEntityPlasticPipe cond : nodeSet)
+		if (sideDistribute > 0) for (int i = 0; i < count; ++i) {
+			TileEntityPlasticPipe cond = edges.getNode(i);
 			if (cond != master) {
-				int e = 0;
-				for (int i = 6; i --> 0; )
-					e += cond.transfer(directions[i], stack, fluid);
+				int e = cond.transfer(edges.getSide(i), stack, fluid);
 				if (e > 0) storage.drain(e, true);
 			}
+		}
 
 		toDistribute += storage.getFluidAmount() % size;
 		sideDistribute = toDistribute / 6;
@@ -219,20 +235,61 @@ public class FluidNetwork implements IGrid {
 
 		if (sideDistribute > 0) {
 			int e = 0;
-			for (int i = 6; i --> 0; )
-				e += master.transfer(directions[i], stack, fluid);
+			for (int i = 0; i < count; ++i)
+				if (edges.getNode(i) == master)
+					e += master.transfer(edges.getSide(i), stack, fluid);
 			if (e > 0) storage.drain(e, true);
 		} else if (toDistribute > 0) {
 			stack.amount = toDistribute;
 			int e = 0;
-			for (int i = 6; i --> 0 && e < toDistribute; ) {
-				e += master.transfer(directions[i], stack, fluid);
-				stack.amount = toDistribute - e;
-			}
+			for (int i = 0; i < count && e < toDistribute; ++i)
+				if (edges.getNode(i) == master) {
+					e += master.transfer(edges.getSide(i), stack, fluid);
+					stack.amount = toDistribute - e;
+				}
 			if (e > 0) storage.drain(e, true);
 		}
 	}
 
+	@Override
+	public boolean ownsConduit(TileEntityPlasticPipe cond) {
+		return cond._grid == this;
+	}
+
+	@Override
+	public void getConnections(TileEntityPlasticPipe cond, List<TileEntityPlasticPipe> out) {
+		World world = cond.getWorldObj();
+		ForgeDirection[] dir = ForgeDirection.VALID_DIRECTIONS;
+		for (int i = 6; i --> 0; ) {
+			int x = cond.xCoord + dir[i].offsetX, y = cond.yCoord + dir[i].offsetY, z = cond.zCoord + dir[i].offsetZ;
+			if (world.blockExists(x, y, z)) {
+				TileEntity te = world.getTileEntity(x, y, z);
+				if (te instanceof TileEntityPlasticPipe) {
+					TileEntityPlasticPipe tep = (TileEntityPlasticPipe)te;
+					if (tep._grid == this && cond.canInterface(tep, dir[i^1]))
+						out.add(tep);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void splitOff(List<TileEntityPlasticPipe> conduits, boolean connected) {
+		FluidNetwork newGrid = new FluidNetwork();
+		newGrid.conduitSet = new LinkedHashList<TileEntityPlasticPipe>(Math.max(conduits.size(), 5));
+		for (TileEntityPlasticPipe cond : conduits) {
+			removeConduit(cond);
+			cond._grid = null;
+		}
+		newGrid.regenerating = true;
+		for (TileEntityPlasticPipe cond : conduits)
+			newGrid.addConduit(cond);
+		newGrid.rebalanceGrid();
+		newGrid.regenerating = false;
+		if (!connected)
+			newGrid.regenerate();
+	}
+
 	public boolean canMergeGrid(FluidNetwork grid) {
 		if (grid == null) return false;
 		return FluidHelper.isFluidEqual(grid.storage.getFluid(), storage.getFluid());
@@ -245,9 +302,10 @@ public class FluidNetwork implements IGrid {
 			return;
 		}
 		boolean r = regenerating | grid.regenerating;
+		splitter.takeSeeds(grid.splitter);
 		grid.destroyGrid();
 		if (!regenerating & r)
-			regenerate();
+			scheduleRegeneration();
 
 		regenerating = true;
 		for (TileEntityPlasticPipe cond : grid.conduitSet)
@@ -256,6 +314,7 @@ public class FluidNetwork implements IGrid {
 
 		grid.conduitSet.clear();
 		grid.nodeSet.clear();
+		grid.edges.clear();
 	}
 
 	public void nodeAdded(TileEntityPlasticPipe cond) {
@@ -308,6 +367,7 @@ public class FluidNetwork implements IGrid {
 		storage.setCapacity(getNodeCount() * STORAGE);
 	}
 
+	@Override
 	public int getConduitCount() {
 		return conduitSet.size();
 	}
@@ -10,18 +10,25 @@ import cofh.asm.relauncher.Strippable;
 import cofh.core.util.CoreUtils;
 import cofh.lib.util.position.IRotateableTile;
 
+import java.util.ArrayList;
+
 import net.minecraft.block.Block;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.network.Packet;
 import net.minecraft.network.play.server.S35PacketUpdateTileEntity;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityHopper;
 import net.minecraft.world.World;
 import net.minecraftforge.common.util.ForgeDirection;
 
+import powercrystals.minefactoryreloaded.core.IEntityCollidable;
+import powercrystals.minefactoryreloaded.net.ConveyorLaneTicker;
 import powercrystals.minefactoryreloaded.tile.base.TileEntityBase;
 
 @Strippable("buildcraft.api.transport.IPipeConnection")
@@ -40,6 +47,15 @@ public class TileEntityConveyor extends TileEntityBase
 
 	private boolean _isFast = false;
 
+	// virtual lane, in order of progress along the belt; see captureItem
+	private ArrayList<LaneItem> _lane;
+	private int _laneMeta;
+	private boolean _laneQueued;
+	private boolean _unloaded;
+	// whether captureItem may take items, and the lane tick that was worked out on
+	private boolean _laneOpen;
+	private int _laneOpenTick = Integer.MIN_VALUE;
+
 	public int getDyeColor()
 	{
 		return _dye;
@@ -277,6 +293,24 @@ public class TileEntityConveyor extends TileEntityBase
 		tag.setBoolean("redNetReversed", _rednetReversed);
 		tag.setBoolean("gateReversed", _gateReversed);
 		tag.setBoolean("glowstone", _isFast);
+
+		if (_lane != null && !_lane.isEmpty())
+		{
+			NBTTagList list = new NBTTagList();
+			for (int i = 0, e = _lane.size(); i < e; ++i)
+			{
+				LaneItem item = _lane.get(i);
+				NBTTagCompound itemTag = item.stack.writeToNBT(new NBTTagCompound());
+				itemTag.setDouble("progress", item.progress);
+				itemTag.setDouble("offset", item.offset);
+				itemTag.setInteger("age", item.age);
+				itemTag.setInteger("lifespan", item.lifespan);
+				itemTag.setInteger("pickupDelay", item.pickupDelay);
+				list.appendTag(itemTag);
+			}
+			tag.setTag("lane", list);
+			tag.setByte("laneMeta", (byte)_laneMeta);
+		}
 	}
 
 	@Override
@@ -300,6 +334,52 @@ public class TileEntityConveyor extends TileEntityBase
 		_rednetReversed = tag.getBoolean("redNetReversed");
 		_gateReversed = tag.getBoolean("gateReversed");
 		_isFast = tag.getBoolean("glowstone");
+
+		if (tag.hasKey("lane"))
+		{
+			NBTTagList list = tag.getTagList("lane", 10);
+			_lane = new ArrayList<LaneItem>(list.tagCount());
+			_laneMeta = tag.getByte("laneMeta");
+			for (int i = 0, e = list.tagCount(); i < e; ++i)
+			{
+				NBTTagCompound itemTag = list.getCompoundTagAt(i);
+				ItemStack stack = ItemStack.loadItemStackFromNBT(itemTag);
+				if (stack != null)
+				{
+					_lane.add(new LaneItem(stack, itemTag.getDouble("progress"), itemTag.getDouble("offset"),
+							itemTag.getInteger("age"), itemTag.getInteger("lifespan"), itemTag.getInteger("pickupDelay")));
+				}
+			}
+		}
+	}
+
+	@Override
+	public void validate()
+	{
+		super.validate();
+		_unloaded = false;
+		if (worldObj != null && !worldObj.isRemote && _lane != null && !_lane.isEmpty())
+		{
+			queueLane();
+		}
+	}
+
+	@Override
+	public void invalidate()
+	{
+		if (!_unloaded && worldObj != null && !worldObj.isRemote)
+		{
+			releaseLane();
+		}
+		super.invalidate();
+	}
+
+	@Override
+	public void onChunkUnload()
+	{
+		super.onChunkUnload();
+		// the lane was saved with the chunk; this instance is done
+		_unloaded = true;
 	}
 
 	//IInventory
@@ -558,6 +638,293 @@ public class TileEntityConveyor extends TileEntityBase
 		return slopeComponent * 4 + directionComponent;
 	}
 
+	// Virtual lanes
+	/**
+	 * Items are only held virtually where no player could be tracking them; this is the range that
+	 * EntityTracker sends EntityItems to players at.
+	 */
+	private static final double WATCH_DISTANCE = 64;
+	/**
+	 * How many ticks captureItem trusts its last look at the conveyor and nearby players for. tickLane makes its own
+	 * checks, so a stale answer only means an item is let go a little early or taken a little late.
+	 */
+	private static final int LANE_CHECK_TICKS = 8;
+	private static final ForgeDirection[] LANE_DIRECTIONS = { EAST, SOUTH, WEST, NORTH };
+
+	/**
+	 * Takes an item entity on this conveyor off the world and carries it in this conveyor's lane instead, if this
+	 * conveyor is in the middle of a straight run and nobody is near enough to see the difference. The item moves as
+	 * it would on the belt, passing from lane to lane, and becomes an entity again where the run ends or turns,
+	 * before a machine or hopper underneath, when the conveyor changes, or when a player comes near.
+	 *
+	 * @return True if the entity was removed from the world.
+	 */
+	public boolean captureItem(EntityItem entity)
+	{
+		if (!ConveyorLaneTicker.isEnabled() || entity.isDead || !isPlainEntity(entity) || !isLaneOpen() ||
+				hasEntityData(entity))
+		{
+			return false;
+		}
+		int md = worldObj.getBlockMetadata(xCoord, yCoord, zCoord);
+		if (_lane == null)
+		{
+			_lane = new ArrayList<LaneItem>(4);
+		}
+		else if (!_lane.isEmpty() && _laneMeta != md)
+		{
+			releaseLane();
+		}
+		_laneMeta = md;
+
+		ForgeDirection dir = LANE_DIRECTIONS[md & 3];
+		double along = dir.offsetX != 0 ? entity.posX - xCoord : entity.posZ - zCoord;
+		double across = dir.offsetX != 0 ? entity.posZ - zCoord : entity.posX - xCoord;
+		if (dir.offsetX + dir.offsetZ < 0)
+		{
+			along = 1 - along;
+		}
+		along = Math.min(Math.max(along, 0), 1);
+
+		LaneItem item = new LaneItem(entity.getEntityItem().copy(), along, across, entity.age, entity.lifespan,
+				entity.delayBeforeCanPickup);
+		// it has already been moved this tick as an entity
+		item.moved = ConveyorLaneTicker.instance.getTick();
+		insertLaneItem(item);
+		entity.setDead();
+		return true;
+	}
+
+	/**
+	 * Entities must be nothing but their stack, age, lifespan and pickup delay, so that an entity made from those
+	 * when it leaves the lane is the same. Items with an owner or thrower, extra entity data from other mods, or a
+	 * class of their own stay entities.
+	 *
+	 * @return True if the entity is a plain EntityItem with no owner or thrower.
+	 */
+	private static boolean isPlainEntity(EntityItem entity)
+	{
+		if (entity.getClass() != EntityItem.class)
+		{
+			return false;
+		}
+		return entity.func_145798_i() == null && entity.func_145800_j() == null; // getOwner, getThrower
+	}
+
+	private static boolean hasEntityData(EntityItem entity)
+	{
+		NBTTagCompound data = entity.getEntityData();
+		return data != null && !data.hasNoTags();
+	}
+
+	/**
+	 * @return True if this conveyor is a lane and nobody is watching it, as of at most LANE_CHECK_TICKS ago.
+	 */
+	private boolean isLaneOpen()
+	{
+		int tick = ConveyorLaneTicker.instance.getTick();
+		if (tick - _laneOpenTick >= LANE_CHECK_TICKS || tick - _laneOpenTick < 0)
+		{
+			_laneOpen = isLane() && !isWatched();
+			_laneOpenTick = tick;
+		}
+		return _laneOpen;
+	}
+
+	/**
+	 * @return True if items on this conveyor can be carried virtually: it is flat, running, has nothing underneath
+	 *         that acts on items, and feeds a running conveyor pointing the same way.
+	 */
+	public boolean isLane()
+	{
+		if (!_conveyorActive || worldObj == null)
+		{
+			return false;
+		}
+		int md = worldObj.getBlockMetadata(xCoord, yCoord, zCoord);
+		if ((md & 0x0C) != 0)
+		{
+			return false;
+		}
+		TileEntity below = worldObj.getTileEntity(xCoord, yCoord - 1, zCoord);
+		if (below instanceof IEntityCollidable || below instanceof TileEntityHopper)
+		{
+			return false;
+		}
+		TileEntityConveyor next = getLaneNext(md);
+		return next != null && next._conveyorActive;
+	}
+
+	private TileEntityConveyor getLaneNext(int md)
+	{
+		ForgeDirection dir = LANE_DIRECTIONS[md & 3];
+		int x = xCoord + dir.offsetX, z = zCoord + dir.offsetZ;
+		if (!worldObj.blockExists(x, yCoord, z) || worldObj.getBlockMetadata(x, yCoord, z) != md)
+		{
+			return null;
+		}
+		TileEntity te = worldObj.getTileEntity(x, yCoord, z);
+		return te instanceof TileEntityConveyor ? (TileEntityConveyor)te : null;
+	}
+
+	private boolean isWatched()
+	{
+		return worldObj.getClosestPlayer(xCoord + 0.5, yCoord + 0.5, zCoord + 0.5, WATCH_DISTANCE) != null;
+	}
+
+	/**
+	 * @return The distance an item on this belt moves each tick; matches onEntityCollidedWithBlock.
+	 */
+	private double getLaneStep()
+	{
+		return 0.1 * (_isFast ? 2.1 : 1.05) * worldObj.getBlock(xCoord, yCoord - 1, zCoord).slipperiness;
+	}
+
+	public void tickLane(int tick)
+	{
+		_laneQueued = false;
+		if (_unloaded || isInvalid() || _lane == null || _lane.isEmpty())
+		{
+			return;
+		}
+		if (!ConveyorLaneTicker.isEnabled() || worldObj.getBlockMetadata(xCoord, yCoord, zCoord) != _laneMeta ||
+				!isLane() || (((tick + xCoord + zCoord) & 15) == 0 && isWatched()))
+		{
+			releaseLane();
+			return;
+		}
+
+		TileEntityConveyor next = getLaneNext(_laneMeta);
+		boolean nextIsLane = next.isLane();
+		double step = getLaneStep();
+		for (int i = _lane.size(); i --> 0; )
+		{
+			LaneItem item = _lane.get(i);
+			if (item.moved == tick)
+			{
+				continue;
+			}
+			item.moved = tick;
+			item.progress += step;
+			if (item.pickupDelay > 0)
+			{
+				--item.pickupDelay;
+			}
+			// let items expire as entities, so ItemExpireEvent handlers still see them
+			if (++item.age >= item.lifespan - 1)
+			{
+				_lane.remove(i);
+				releaseItem(item);
+			}
+			else if (item.progress >= 1)
+			{
+				_lane.remove(i);
+				if (nextIsLane)
+				{
+					item.progress -= 1;
+					next.acceptLaneItem(item);
+				}
+				else
+				{
+					releaseItem(item);
+				}
+			}
+		}
+		if (!_lane.isEmpty())
+		{
+			queueLane();
+		}
+	}
+
+	private void acceptLaneItem(LaneItem item)
+	{
+		if (_lane == null)
+		{
+			_lane = new ArrayList<LaneItem>(4);
+		}
+		else if (!_lane.isEmpty() && _laneMeta != worldObj.getBlockMetadata(xCoord, yCoord, zCoord))
+		{
+			releaseLane();
+		}
+		_laneMeta = worldObj.getBlockMetadata(xCoord, yCoord, zCoord);
+		insertLaneItem(item);
+	}
+
+	private void insertLaneItem(LaneItem item)
+	{
+		int i = 0;
+		while (i < _lane.size() && _lane.get(i).progress < item.progress)
+		{
+			++i;
+		}
+		_lane.add(i, item);
+		queueLane();
+	}
+
+	private void queueLane()
+	{
+		if (!_laneQueued)
+		{
+			_laneQueued = true;
+			ConveyorLaneTicker.instance.queue(this);
+		}
+	}
+
+	/**
+	 * Turns every item in the lane back into an entity where it is.
+	 */
+	public void releaseLane()
+	{
+		if (_lane == null)
+		{
+			return;
+		}
+		for (int i = _lane.size(); i --> 0; )
+		{
+			releaseItem(_lane.get(i));
+		}
+		_lane.clear();
+	}
+
+	private void releaseItem(LaneItem item)
+	{
+		ForgeDirection dir = LANE_DIRECTIONS[_laneMeta & 3];
+		double along = dir.offsetX + dir.offsetZ < 0 ? 1 - item.progress : item.progress;
+		double x = xCoord + (dir.offsetX != 0 ? along : item.offset);
+		double z = zCoord + (dir.offsetZ != 0 ? along : item.offset);
+		double step = getLaneStep();
+
+		EntityItem entityitem = new EntityItem(worldObj, x, yCoord + 0.1, z, item.stack);
+		entityitem.motionX = dir.offsetX * step;
+		entityitem.motionY = 0.0D;
+		entityitem.motionZ = dir.offsetZ * step;
+		entityitem.delayBeforeCanPickup = item.pickupDelay;
+		entityitem.age = item.age;
+		entityitem.lifespan = item.lifespan;
+		worldObj.spawnEntityInWorld(entityitem);
+	}
+
+	private static final class LaneItem
+	{
+		final ItemStack stack;
+		// progress is 0 to 1 in the direction of travel; offset is the position across the belt
+		double progress, offset;
+		int age, lifespan;
+		// counted down while in the lane, as EntityItem does
+		int pickupDelay;
+		int moved;
+
+		LaneItem(ItemStack stack, double progress, double offset, int age, int lifespan, int pickupDelay)
+		{
+			this.stack = stack;
+			this.progress = progress;
+			this.offset = offset;
+			this.age = age;
+			this.lifespan = lifespan;
+			this.pickupDelay = pickupDelay;
+		}
+	}
+
 	@Override
 	public ConnectionType canConnectInventory(ForgeDirection from)
 	{
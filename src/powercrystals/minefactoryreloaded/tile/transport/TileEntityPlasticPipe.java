@@ -86,12 +86,20 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 
 	private void markForRegen() {
 
-		int c = 0;
+		List<TileEntityPlasticPipe> neighbours = null;
 		for (int i = 6; i-- > 0;)
-			if (sideMode[i] == ((2 << 2) | 1))
-				++c;
-		if (c > 1)
-			_grid.regenerate();
+			if (sideMode[i] == ((2 << 2) | 1)) {
+				ForgeDirection dir = ForgeDirection.VALID_DIRECTIONS[i ^ 1];
+				if (!BlockPosition.blockExists(this, dir))
+					continue;
+				TileEntityPlasticPipe pipe = BlockPosition.getAdjacentTileEntity(this, dir, TileEntityPlasticPipe.class);
+				if (pipe != null && pipe._grid == _grid) {
+					if (neighbours == null) neighbours = new ArrayList<TileEntityPlasticPipe>(6);
+					neighbours.add(pipe);
+				}
+			}
+		if (neighbours != null && neighbours.size() > 1)
+			_grid.regenerate(neighbours);
 	}
 
 	@Override
@@ -162,6 +170,8 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 
 		if (worldObj.isRemote | deadCache)
 			return;
+		if (_grid != null)
+			_grid.wake();
 		TileEntity tile = worldObj.blockExists(x, y, z) ? worldObj.getTileEntity(x, y, z) : null;
 
 		if (x < xCoord)
@@ -376,6 +386,8 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 		int t = sideMode[from.getOpposite().ordinal()];
 		if (((t & 1) != 0) & isPowered & (t & 2) == 2)
 		{
+			if (doFill)
+				_grid.wake();
 			return _grid.storage.fill(resource, doFill);
 		}
 		return 0;
@@ -388,6 +400,8 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 		int t = sideMode[from.getOpposite().ordinal()];
 		if (((t & 1) != 0) & (t & 2) == 0)
 		{
+			if (doDrain)
+				_grid.wake();
 			return _grid.storage.drain(resource, doDrain);
 		}
 		return null;
@@ -398,8 +412,11 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 
 		if (_grid == null | sideMode[6] == 1) return null;
 		int t = sideMode[from.getOpposite().ordinal()];
-		if (((t & 1) != 0) & (t & 2) == 0)
+		if (((t & 1) != 0) & (t & 2) == 0) {
+			if (doDrain)
+				_grid.wake();
 			return _grid.storage.drain(maxDrain, doDrain);
+		}
 		return null;
 	}
 
@@ -509,6 +526,23 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 		}
 	}
 
+	/**
+	 * @return A bit mask of the enabled sides that have something other than a pipe attached.
+	 */
+	int getInterfaceSides() {
+
+		int sides = 0;
+		if (sideMode[6] != 1) {
+			for (int i = 0; i < 6; i++) {
+				final int t = sideMode[i];
+				final int mode = t >> 2;
+				if (((t & 1) != 0) & (mode != 0) & (mode != 2))
+					sides |= 1 << i;
+			}
+		}
+		return sides;
+	}
+
 	int transfer(ForgeDirection side, FluidStack fluid, Fluid f) {
 
 		if (deadCache) return 0;
@@ -547,15 +581,7 @@ public class TileEntityPlasticPipe extends TileEntityBase implements INode, ITra
 			reCache();
 			return;
 		}
-		boolean node = false;
-		if (sideMode[6] != 1) {
-			for (int i = 0; i < 6; i++) {
-				final int t = sideMode[i];
-				final int mode = t >> 2;
-				node = ((t & 1) != 0) & (mode != 0) & (mode != 2) | node;
-			}
-		}
-		isNode = node;
+		isNode = getInterfaceSides() != 0;
 		if (_grid != null)
 			_grid.addConduit(this);
 		Packets.sendToAllPlayersWatching(this);
@@ -1,6 +1,7 @@
 package powercrystals.minefactoryreloaded.world;
 
 import java.util.ArrayList;
+import java.util.Random;
 
 import net.minecraft.block.Block;
 import net.minecraft.entity.Entity;
@@ -97,4 +98,48 @@ public class SmashingWorld extends WorldProxy
 		}
 		return drops;
 	}
+
+	/**
+	 * Smashes the block with {@code random} standing in for the world's random.
+	 */
+	public ArrayList<ItemStack> smashBlock(ItemStack input, Block block, int meta, int fortune, Random random)
+	{
+		Random worldRand = rand;
+		rand = random;
+		try
+		{
+			return smashBlock(input, block, meta, fortune);
+		}
+		finally
+		{
+			rand = worldRand;
+		}
+	}
+
+	/**
+	 * An ordinary random that counts how many values have been drawn from it.
+	 */
+	public static final class CountingRandom extends Random
+	{
+		private static final long serialVersionUID = 1L;
+
+		private int calls;
+
+		public CountingRandom(long seed)
+		{
+			super(seed);
+		}
+
+		@Override
+		protected int next(int bits)
+		{
+			++calls;
+			return super.next(bits);
+		}
+
+		public int getCalls()
+		{
+			return calls;
+		}
+	}
 }